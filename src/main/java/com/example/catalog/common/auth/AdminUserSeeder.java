@@ -0,0 +1,65 @@
+package com.example.catalog.common.auth;
+
+import com.example.catalog.common.auth.entity.User;
+import com.example.catalog.common.auth.repository.UserRepository;
+import com.example.catalog.common.startup.StartupWarmUp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@code admin} user for testing purposes if it does not exist yet.
+ * By default this runs before the application reports itself started. With
+ * {@code catalog.startup.background-seeding=true} (the {@code fast-startup} profile) the lookup and the BCrypt
+ * hash run on a background thread instead, and readiness waits for them ({@link StartupWarmUp}).
+ */
+@Component
+public class AdminUserSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminUserSeeder.class);
+    private static final String TASK = "admin-user";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final StartupWarmUp startupWarmUp;
+    private final boolean background;
+
+    public AdminUserSeeder(UserRepository userRepository, PasswordEncoder passwordEncoder, StartupWarmUp startupWarmUp,
+                           @Value("${catalog.startup.background-seeding:false}") boolean background) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.startupWarmUp = startupWarmUp;
+        this.background = background;
+        if (background) {
+            startupWarmUp.begin(TASK);
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!background) {
+            seed();
+            return;
+        }
+        Thread.ofPlatform().name("admin-user-seeder").daemon().start(() -> {
+            try {
+                seed();
+            } catch (RuntimeException e) {
+                logger.error("Could not create the admin user", e);
+            } finally {
+                startupWarmUp.done(TASK);
+            }
+        });
+    }
+
+    private void seed() {
+        if (userRepository.findByUsername("admin").isEmpty()) {
+            User adminUser = new User("admin", passwordEncoder.encode("Frankliu@12345!"));
+            userRepository.save(adminUser);
+        }
+    }
+}
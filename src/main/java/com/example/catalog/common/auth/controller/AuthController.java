@@ -1,5 +1,8 @@
 package com.example.catalog.common.auth.controller;
 
+import com.example.catalog.common.security.jwt.JwtCookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 
@@ -11,7 +14,8 @@ public class AuthController {
     }
 
     @GetMapping("/logout")
-    public String logout() {
+    public String logout(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.SET_COOKIE, JwtCookie.clear().toString());
         return "redirect:/login?logout=true";
     }
 
@@ -1,5 +1,6 @@
 package com.example.catalog.common.auth.entity;
 
+import com.example.catalog.common.security.jwt.UserTokenEvictionListener;
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,6 +9,7 @@ import java.util.Collections;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserTokenEvictionListener.class)
 public class User implements UserDetails {
 
     @Id
@@ -38,6 +40,10 @@ public class User implements UserDetails {
         return password;
     }
 
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
     @Override
     public String getUsername() {
         return username;
@@ -1,10 +1,25 @@
 package com.example.catalog.common.auth.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 
 import com.example.catalog.common.auth.entity.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Transactional(readOnly = true)
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Replaces a user's password hash, unless it changed since {@code current} was read.
+     *
+     * @return 1 if the hash was replaced, otherwise 0.
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :upgraded where u.username = :username and u.password = :current")
+    int replacePassword(String username, String current, String upgraded);
+}
@@ -0,0 +1,123 @@
+package com.example.catalog.common.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * A bounded segmented LRU with per-entry time-to-live.
+ * <p>
+ * New entries enter the probation segment; a second hit promotes them to the protected segment, which may
+ * hold up to 80% of the capacity. Entries demoted from protected go back to probation, and the least recently
+ * used probation entry is evicted when the cache is full. One-hit wonders therefore never push out the
+ * frequently read working set. Not thread-safe: callers must serialize access.
+ */
+public final class SegmentedLruCache<K, V> {
+
+    /**
+     * Receives the unexpired entries evicted for lack of room, with their expiry time, so a lower tier can
+     * keep them until that same time.
+     */
+    @FunctionalInterface
+    public interface EvictionListener<K, V> {
+        void onEviction(K key, V value, long expiresAtNanos);
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final int maximumSize;
+    private final int protectedCapacity;
+    private final long ttlNanos;
+    private final EvictionListener<K, V> evictionListener;
+    private final LinkedHashMap<K, Entry<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Entry<V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    public SegmentedLruCache(int maximumSize, long ttlNanos, EvictionListener<K, V> evictionListener) {
+        this.maximumSize = Math.max(1, maximumSize);
+        this.protectedCapacity = (int) (this.maximumSize * 0.8);
+        this.ttlNanos = ttlNanos;
+        this.evictionListener = evictionListener;
+    }
+
+    public V get(K key) {
+        long now = System.nanoTime();
+        Entry<V> entry = protectedSegment.get(key);
+        if (entry != null) {
+            if (entry.isExpired(now)) {
+                protectedSegment.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+        entry = probation.remove(key);
+        if (entry == null || entry.isExpired(now)) {
+            return null;
+        }
+        protectedSegment.put(key, entry);
+        if (protectedSegment.size() > protectedCapacity) {
+            Iterator<Map.Entry<K, Entry<V>>> eldest = protectedSegment.entrySet().iterator();
+            Map.Entry<K, Entry<V>> demoted = eldest.next();
+            eldest.remove();
+            probation.put(demoted.getKey(), demoted.getValue());
+            evictOverflow();
+        }
+        return entry.value();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.nanoTime() + ttlNanos);
+    }
+
+    /**
+     * Caches a value that expires at the given {@link System#nanoTime()} rather than after the cache's TTL.
+     */
+    public void put(K key, V value, long expiresAtNanos) {
+        protectedSegment.remove(key);
+        probation.put(key, new Entry<>(value, expiresAtNanos));
+        evictOverflow();
+    }
+
+    public void remove(K key) {
+        if (protectedSegment.remove(key) == null) {
+            probation.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry for which {@code filter} returns true; expired entries are removed as well.
+     */
+    public void removeIf(BiPredicate<K, V> filter) {
+        long now = System.nanoTime();
+        for (LinkedHashMap<K, Entry<V>> segment : List.of(probation, protectedSegment)) {
+            segment.entrySet().removeIf(e -> e.getValue().isExpired(now) || filter.test(e.getKey(), e.getValue().value()));
+        }
+    }
+
+    public void clear() {
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    public int size() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    private void evictOverflow() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<K, Entry<V>>> it = probation.entrySet().iterator();
+        while (size() > maximumSize && it.hasNext()) {
+            Map.Entry<K, Entry<V>> victim = it.next();
+            it.remove();
+            if (!victim.getValue().isExpired(now)) {
+                Entry<V> evicted = victim.getValue();
+                evictionListener.onEviction(victim.getKey(), evicted.value(), evicted.expiresAtNanos());
+            }
+        }
+    }
+}
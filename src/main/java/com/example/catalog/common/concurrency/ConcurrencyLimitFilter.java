@@ -0,0 +1,126 @@
+package com.example.catalog.common.concurrency;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for API requests.
+ * <p>
+ * With virtual threads every request gets its own thread, so the thread pool no longer limits how many
+ * requests wait for a database connection at once. This filter caps in-flight API requests at
+ * {@code catalog.concurrency.max-in-flight} (sized as a small multiple of the Hikari pool). Further requests
+ * wait in FIFO order for up to {@code catalog.concurrency.max-wait} and are then rejected with
+ * {@code catalog.concurrency.rejected-status} (503 by default) and {@code Retry-After}, instead of piling up
+ * behind the pool's connection timeout. A request that goes async (reactive and {@code CompletableFuture}
+ * handlers) holds its permit until the async processing completes, errors or times out.
+ * Only active when {@code catalog.concurrency.max-in-flight} is set.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "catalog.concurrency.max-in-flight")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final int rejectedStatus;
+
+    public ConcurrencyLimitFilter(@Value("${catalog.concurrency.max-in-flight}") int maxInFlight,
+                                  @Value("${catalog.concurrency.max-wait:500ms}") Duration maxWait,
+                                  @Value("${catalog.concurrency.rejected-status:503}") int rejectedStatus) {
+        this.permits = new Semaphore(maxInFlight, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.rejectedStatus = rejectedStatus;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            logger.debug("Rejected {} {}: too many requests in flight", request.getMethod(), request.getRequestURI());
+            // Written directly rather than via sendError: an error dispatch would re-enter the security chain
+            response.setStatus(rejectedStatus);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("text/plain");
+            response.getWriter().write("Server busy, retry shortly");
+            return;
+        }
+        boolean releasedOnCompletion = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PermitRelease());
+                releasedOnCompletion = true;
+            }
+        } finally {
+            if (!releasedOnCompletion) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Releases the permit of an async request once, when its async processing ends however it ends.
+     */
+    private class PermitRelease implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing is restarted
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
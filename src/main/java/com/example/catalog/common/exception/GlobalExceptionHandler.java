@@ -1,5 +1,8 @@
 package com.example.catalog.common.exception;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -28,6 +31,33 @@ public class GlobalExceptionHandler {
         return "redirect:/";
     }
 
+    /**
+     * Handles a write rejected because the write-behind queue is full.
+     * The client is asked to retry after a second instead of being shown an error page.
+     *
+     * @param ex The WriteQueueFullException instance.
+     * @return 503 Service Unavailable with a Retry-After header.
+     */
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ResponseEntity<String> handleWriteQueueFullException(WriteQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Handles a login turned away because the password-hashing pool and its queue are full.
+     *
+     * @param ex The LoginThrottledException instance.
+     * @return 503 Service Unavailable with a Retry-After header.
+     */
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<String> handleLoginThrottledException(LoginThrottledException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
     /**
      * Handles all other generic exceptions.
      * This acts as a fallback for any unexpected errors.
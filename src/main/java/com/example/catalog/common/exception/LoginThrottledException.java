@@ -0,0 +1,12 @@
+package com.example.catalog.common.exception;
+
+/**
+ * Thrown when a login is turned away because every password-hashing thread is busy and the login queue is full.
+ * Callers should retry later; the REST API answers it with 503 Service Unavailable and a {@code Retry-After}.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
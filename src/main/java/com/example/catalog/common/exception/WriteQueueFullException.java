@@ -0,0 +1,12 @@
+package com.example.catalog.common.exception;
+
+/**
+ * Thrown when a write cannot be queued because the write-behind queue stayed full for the whole offer timeout.
+ * Callers should retry later; the REST API answers it with 503 Service Unavailable and a {@code Retry-After}.
+ */
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException(String message) {
+        super(message);
+    }
+}
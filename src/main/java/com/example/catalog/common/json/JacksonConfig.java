@@ -0,0 +1,22 @@
+package com.example.catalog.common.json;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Optional Jackson tuning. With {@code catalog.json.blackbird.enabled=true} the Blackbird module replaces
+ * reflective getter and setter calls with generated lambdas for every bean Jackson (de)serializes, e.g. DTOs and
+ * reports. Products already use the hand-written {@code ProductJsonSerializer}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "catalog.json.blackbird.enabled", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
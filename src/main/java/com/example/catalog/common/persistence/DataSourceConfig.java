@@ -0,0 +1,84 @@
+package com.example.catalog.common.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declares the JDBC connection pools used by JPA and the bulk repositories.
+ * Spring Boot skips its own DataSource auto-configuration once an R2DBC ConnectionFactory is present (the reactive
+ * read path), so the primary pool is built here from the usual {@code spring.datasource.*} and
+ * {@code spring.datasource.hikari.*} properties.
+ * <p>
+ * The {@code DataSource} the application uses routes read-only transactions to the read replicas listed in
+ * {@code catalog.datasource.replicas.urls}, if any (see {@link ReadWriteRoutingDataSource}).
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource, MeterRegistry meterRegistry,
+            @Value("${catalog.datasource.replicas.urls:}") List<String> urls,
+            @Value("${catalog.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${catalog.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${catalog.datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${catalog.datasource.replicas.balancing:round-robin}") ReadWriteRoutingDataSource.Balancing balancing,
+            @Value("${catalog.datasource.replicas.max-lag:1s}") Duration maxLag,
+            @Value("${catalog.datasource.replicas.lag-check-interval:1s}") Duration lagCheckInterval,
+            @Value("${catalog.datasource.replicas.lag-query:select 0}") String lagQuery) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                    .url(url.trim()).username(username).password(password).build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, balancing, maxLag, lagCheckInterval,
+                lagQuery, meterRegistry);
+    }
+
+    /**
+     * Fetches the actual connection at the first statement, so a transaction that issues none (a cache hit) takes
+     * no connection, and the routing sees whether the transaction is read-only.
+     * The connection defaults are given rather than read from a connection, so startup does not connect.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.catalog.common.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections to read replicas for read-only transactions ({@code @Transactional(readOnly = true)})
+ * and to the primary for everything else. It is meant to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so the choice is made at the first
+ * statement, once the transaction's read-only flag is known.
+ * <p>
+ * A replica is skipped while its replication lag, measured every {@code lagCheckInterval} with
+ * {@code lagQuery}, is above {@code maxLag}, while it cannot be reached, and for a user whose last committed
+ * write may not have been replayed on it yet (read-your-writes). When no replica qualifies the primary serves the
+ * read. Users are told apart by the name of the current {@link Authentication}; requests without one share a key.
+ * <p>
+ * Reads whose rows are kept in a cache run in {@link #fillingCache(Supplier)}: they skip a replica that may not
+ * have replayed the last write of <em>any</em> user, as a stale row would otherwise be served to everyone until it
+ * expires rather than only to the reader until the replica catches up.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final long UNAVAILABLE = Long.MAX_VALUE;
+
+    private static final ThreadLocal<Boolean> FILLING_CACHE = ThreadLocal.withInitial(() -> false);
+
+    public enum Balancing {
+        /** Replicas take turns. */
+        ROUND_ROBIN,
+        /** The replica with the fewest connections in use. */
+        LEAST_CONNECTIONS
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private final Counter connections;
+        private volatile long lagNanos = UNAVAILABLE;
+
+        private Replica(HikariDataSource pool, Counter connections) {
+            this.pool = pool;
+            this.connections = connections;
+        }
+
+        private int activeConnections() {
+            return pool.getHikariPoolMXBean() == null ? 0 : pool.getHikariPoolMXBean().getActiveConnections();
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Balancing balancing;
+    private final long maxLagNanos;
+    private final long lagCheckIntervalNanos;
+    private final String lagQuery;
+    private final Counter primaryConnections;
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile Long lastWriteOfAnyUser;
+    private final AtomicInteger turn = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    /**
+     * @param primary The read-write database.
+     * @param replicas The read replicas, named after their pool; may be empty, and then every connection comes
+     *                 from the primary.
+     * @param lagQuery A query run on a replica returning its replication lag in seconds.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Balancing balancing,
+                                      Duration maxLag, Duration lagCheckInterval, String lagQuery,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.balancing = balancing;
+        this.maxLagNanos = maxLag.toNanos();
+        this.lagCheckIntervalNanos = lagCheckInterval.toNanos();
+        this.lagQuery = lagQuery;
+        this.primaryConnections = connectionCounter(meterRegistry, "primary");
+        this.replicas = replicas.stream()
+                .map(pool -> new Replica(pool, connectionCounter(meterRegistry, pool.getPoolName())))
+                .toList();
+        for (Replica replica : this.replicas) {
+            Gauge.builder("catalog.datasource.replica.lag", replica,
+                            r -> r.lagNanos == UNAVAILABLE ? Double.NaN : r.lagNanos / 1e9)
+                    .description("Replication lag of the read replica as of the last check, NaN while it is unreachable")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.pool.getPoolName())
+                    .register(meterRegistry);
+        }
+        if (this.replicas.isEmpty()) {
+            this.lagChecker = null;
+        } else {
+            this.lagChecker = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+            this.lagChecker.scheduleWithFixedDelay(this::checkLag, 0, lagCheckIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("catalog.datasource.connections")
+                .description("Connections handed out, by the database that served them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!replicas.isEmpty()) {
+            String user = currentUser();
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                Long lastWrite = FILLING_CACHE.get() ? lastWriteOfAnyUser : lastWrites.get(user);
+                Connection connection = replicaConnection(lastWrite);
+                if (connection != null) {
+                    return connection;
+                }
+            } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite(user);
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private Connection replicaConnection(Long lastWrite) {
+        long now = System.nanoTime();
+        int size = replicas.size();
+        int first = balancing == Balancing.ROUND_ROBIN ? Math.floorMod(turn.getAndIncrement(), size) : 0;
+        Replica chosen = null;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((first + i) % size);
+            if (!isCurrent(replica, lastWrite, now)) {
+                continue;
+            }
+            if (balancing == Balancing.ROUND_ROBIN) {
+                chosen = replica;
+                break;
+            }
+            if (chosen == null || replica.activeConnections() < chosen.activeConnections()) {
+                chosen = replica;
+            }
+        }
+        if (chosen == null) {
+            return null;
+        }
+        try {
+            Connection connection = chosen.pool.getConnection();
+            chosen.connections.increment();
+            return connection;
+        } catch (SQLException e) {
+            // Left out until the next lag check reaches it again
+            chosen.lagNanos = UNAVAILABLE;
+            log.warn("Read replica {} is unavailable, reading from the primary: {}", chosen.pool.getPoolName(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether the replica is within {@code maxLag} and, if the user wrote, far enough behind that write to have
+     * replayed it. The lag may have grown since it was measured, by up to one check interval.
+     */
+    private boolean isCurrent(Replica replica, Long lastWrite, long now) {
+        long lag = replica.lagNanos;
+        if (lag > maxLagNanos) {
+            return false;
+        }
+        return lastWrite == null || now - lastWrite > lag + lagCheckIntervalNanos;
+    }
+
+    /**
+     * Runs {@code read} as a read whose result is cached: a read-only transaction whose first statement runs in it
+     * only uses a replica that has replayed every user's last write.
+     */
+    public static <T> T fillingCache(Supplier<T> read) {
+        boolean outer = FILLING_CACHE.get();
+        FILLING_CACHE.set(true);
+        try {
+            return read.get();
+        } finally {
+            FILLING_CACHE.set(outer);
+        }
+    }
+
+    /**
+     * Records the user's write when its transaction completes, as that is when it becomes visible to replicas.
+     */
+    private void recordWrite(String user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            written(user);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                written(user);
+            }
+        });
+    }
+
+    private void written(String user) {
+        long now = System.nanoTime();
+        lastWrites.put(user, now);
+        lastWriteOfAnyUser = now;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+
+    /**
+     * Measures the lag of every replica, and forgets writes old enough for any replica within {@code maxLag}.
+     */
+    void checkLag() {
+        for (Replica replica : replicas) {
+            replica.lagNanos = measureLag(replica);
+        }
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(written -> now - written > maxLagNanos + lagCheckIntervalNanos);
+    }
+
+    private long measureLag(Replica replica) {
+        try (Connection connection = replica.pool.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            return result.next() ? Math.max((long) (result.getDouble(1) * 1e9), 0) : 0;
+        } catch (SQLException | RuntimeException e) {
+            if (replica.lagNanos != UNAVAILABLE) {
+                log.warn("Lag check of read replica {} failed: {}", replica.pool.getPoolName(), e.getMessage());
+            }
+            return UNAVAILABLE;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.pool.close());
+    }
+}
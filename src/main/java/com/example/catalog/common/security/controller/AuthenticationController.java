@@ -2,45 +2,47 @@ package com.example.catalog.common.security.controller;
 
 import com.example.catalog.common.auth.dto.AuthenticationResponse;
 import com.example.catalog.common.auth.dto.LoginRequest;
-import com.example.catalog.common.security.jwt.JwtUtil;
-import com.example.catalog.common.security.service.UserDetailsServiceImpl;
+import com.example.catalog.common.security.jwt.JwtCookie;
+import com.example.catalog.common.security.service.LoginService;
 import org.slf4j.Logger;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api")
 public class AuthenticationController {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationController.class);
-    private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final LoginService loginService;
 
-    public AuthenticationController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
-        this.authenticationManager = authenticationManager;
-        this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+    public AuthenticationController(LoginService loginService) {
+        this.loginService = loginService;
     }
 
+    /**
+     * Issues a JWT for a username and password. The password check runs on the login pool, so the request
+     * thread is released until it completes. The token is also set as the {@link JwtCookie} for the catalog pages.
+     */
     @PostMapping("/authenticate")
-    public ResponseEntity<?> createAuthenticationToken(@RequestBody LoginRequest loginRequest) throws Exception {
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> createAuthenticationToken(@RequestBody LoginRequest loginRequest,
+                                                                                               HttpServletRequest request) {
         logger.debug("Authentication attempt for user: {}", loginRequest.getUsername());
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
-            );
-        } catch (Exception e) {
-            logger.error("Authentication failed for user: {}", loginRequest.getUsername(), e);
-            throw new Exception("Incorrect username or password", e);
-        }
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getUsername());
-        final String jwt = jwtUtil.generateToken(userDetails);
-        logger.debug("Generated JWT for user: {}", loginRequest.getUsername());
-        return ResponseEntity.ok(new AuthenticationResponse(jwt));
+        boolean secure = request.isSecure();
+        return loginService.login(loginRequest.getUsername(), loginRequest.getPassword())
+                .whenComplete((jwt, e) -> {
+                    if (e != null) {
+                        logger.error("Authentication failed for user: {}", loginRequest.getUsername(), e);
+                    } else {
+                        logger.debug("Generated JWT for user: {}", loginRequest.getUsername());
+                    }
+                })
+                .thenApply(jwt -> ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, JwtCookie.issue(jwt, secure).toString())
+                        .body(new AuthenticationResponse(jwt)));
     }
-}
\ No newline at end of file
+}
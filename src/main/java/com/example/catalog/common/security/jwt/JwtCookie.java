@@ -0,0 +1,59 @@
+package com.example.catalog.common.security.jwt;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+
+/**
+ * The HttpOnly cookie that carries the JWT on page navigations under {@code /products}, so the catalog pages can
+ * be rendered with data for a logged-in user. The REST API still takes the token as a Bearer header only:
+ * {@link JwtFilter} accepts the cookie for GET requests to pages, which never change data, and
+ * {@code SameSite=Strict} keeps other sites from sending it at all.
+ */
+public final class JwtCookie {
+
+    public static final String NAME = "catalog_jwt";
+    private static final String PATH = "/products";
+
+    private JwtCookie() {
+    }
+
+    /**
+     * @return A session cookie holding {@code jwt}; once the token expires the pages fall back to loading
+     *         their data with JavaScript.
+     */
+    public static ResponseCookie issue(String jwt, boolean secure) {
+        return ResponseCookie.from(NAME, jwt)
+                .path(PATH)
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite("Strict")
+                .build();
+    }
+
+    public static ResponseCookie clear() {
+        return ResponseCookie.from(NAME, "")
+                .path(PATH)
+                .httpOnly(true)
+                .sameSite("Strict")
+                .maxAge(0)
+                .build();
+    }
+
+    /**
+     * @return The JWT of a GET request for a page under {@code /products}, or null.
+     */
+    static String read(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || request.getCookies() == null
+                || !request.getRequestURI().startsWith(request.getContextPath() + PATH + "/")) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.catalog.common.security.jwt;
 
 import com.example.catalog.common.security.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -22,10 +26,25 @@ public class JwtFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtFilter.class);
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Timer validTokens;
+    private final Timer invalidTokens;
 
-    public JwtFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
+    public JwtFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService, VerifiedTokenCache verifiedTokenCache,
+                     MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.cacheHits = Counter.builder("catalog.jwt.cache").tag("result", "hit")
+                .description("Bearer tokens looked up in the verified token cache").register(meterRegistry);
+        this.cacheMisses = Counter.builder("catalog.jwt.cache").tag("result", "miss")
+                .description("Bearer tokens looked up in the verified token cache").register(meterRegistry);
+        this.validTokens = Timer.builder("catalog.jwt.verify").tag("result", "valid")
+                .description("Time to parse and verify a JWT signature and expiry").register(meterRegistry);
+        this.invalidTokens = Timer.builder("catalog.jwt.verify").tag("result", "invalid")
+                .description("Time to parse and verify a JWT signature and expiry").register(meterRegistry);
     }
 
     @Override
@@ -35,28 +54,39 @@ public class JwtFilter extends OncePerRequestFilter {
         logger.debug("Processing request: {} {}", request.getMethod(), request.getRequestURI());
         logger.debug("Authorization header: {}", authorizationHeader);
 
-        String username = null;
-        String jwt = null;
+        String jwt = authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                ? authorizationHeader.substring(7) : JwtCookie.read(request);
+        VerifiedToken token = null;
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (jwt != null) {
+            UserDetails cachedUser = verifiedTokenCache.get(jwt);
+            if (cachedUser != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                cacheHits.increment();
+                setAuthentication(cachedUser, request);
+                logger.debug("Authentication set from verified token cache for user: {}", cachedUser.getUsername());
+                filterChain.doFilter(request, response);
+                return;
+            }
+            cacheMisses.increment();
+            long start = System.nanoTime();
             try {
-                username = jwtUtil.extractUsername(jwt);
-                logger.debug("Extracted username from JWT: {}", username);
+                token = jwtUtil.verify(jwt);
+                validTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                logger.debug("Extracted username from JWT: {}", token.subject());
             } catch (Exception e) {
-                logger.debug("Failed to extract username from JWT: {}", e.getMessage());
+                invalidTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                logger.debug("Failed to verify JWT: {}", e.getMessage());
             }
         } else {
             logger.debug("No valid Authorization header found");
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = token.subject();
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (username.equals(userDetails.getUsername())) {
+                setAuthentication(userDetails, request);
+                verifiedTokenCache.put(jwt, userDetails, token.expiration());
                 logger.debug("Authentication set for user: {}", username);
             } else {
                 logger.debug("JWT validation failed for user: {}", username);
@@ -65,4 +95,11 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void setAuthentication(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.catalog.common.security.jwt;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,8 +29,12 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authz -> authz
+                        // Async dispatches resume a request that was already authorized (reactive and streamed responses)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 //                        .requestMatchers("/", "/api/authenticate", "/login", "/products/main", "/products/new", "/css/**", "/js/**").permitAll()
                                 .requestMatchers("/", "/api/authenticate", "/login", "/products/**", "/css/**", "/js/**").permitAll()
+                        // Health checks and the Prometheus scraper do not carry a JWT
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
 //                        .requestMatchers("/products/**", "/api/products/**").authenticated()
                         .requestMatchers( "/api/products/**").authenticated()
                         .anyRequest().authenticated()
@@ -51,8 +57,11 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt at cost {@code catalog.auth.bcrypt.strength}; stored hashes with a lower cost are upgraded on login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${catalog.auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
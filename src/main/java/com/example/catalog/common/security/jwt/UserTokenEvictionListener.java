@@ -0,0 +1,26 @@
+package com.example.catalog.common.security.jwt;
+
+import com.example.catalog.common.auth.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops a user's verified tokens whenever the user row is updated or deleted,
+ * so a changed password or removed account takes effect on the next request.
+ */
+@Component
+public class UserTokenEvictionListener {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public UserTokenEvictionListener(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        verifiedTokenCache.evictUser(user.getUsername());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.catalog.common.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of the claims of a JWT whose signature and expiry have been verified.
+ *
+ * @param subject The username the token was issued to.
+ * @param issuedAt When the token was issued.
+ * @param expiration When the token expires.
+ */
+public record VerifiedToken(String subject, Instant issuedAt, Instant expiration) {
+}
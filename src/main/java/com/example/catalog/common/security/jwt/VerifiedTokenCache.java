@@ -0,0 +1,100 @@
+package com.example.catalog.common.security.jwt;
+
+import com.example.catalog.common.cache.SegmentedLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of JWTs that have already been verified, keyed by the SHA-256 hash of the token.
+ * A hit gives the resolved principal without re-checking the signature or querying the users table.
+ * Entries live until the token expires or {@code jwt.cache.max-ttl} elapses, whichever comes first,
+ * and are dropped immediately by {@link #evictUser(String)} when the user changes. Once
+ * {@code jwt.cache.max-size} tokens are cached, the least recently used one makes room for a new token.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SegmentedLruCache<String, UserDetails> entries;
+    private final long maxTtlMillis;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:100000}") int maxSize,
+                              @Value("${jwt.cache.max-ttl:5m}") Duration maxTtl) {
+        this.maxTtlMillis = maxTtl.toMillis();
+        this.entries = new SegmentedLruCache<>(maxSize, maxTtl.toNanos(), (key, userDetails, expiresAtNanos) -> { });
+    }
+
+    /**
+     * @return the principal of a previously verified, unexpired token, or null.
+     */
+    public UserDetails get(String token) {
+        String key = hash(token);
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remembers a token whose signature and subject have been verified.
+     *
+     * @param token The raw JWT.
+     * @param userDetails The principal the token resolved to.
+     * @param expiration The token's expiration claim.
+     */
+    public void put(String token, UserDetails userDetails, Instant expiration) {
+        long ttlMillis = Math.min(expiration.toEpochMilli() - System.currentTimeMillis(), maxTtlMillis);
+        if (ttlMillis <= 0) {
+            return;
+        }
+        String key = hash(token);
+        lock.lock();
+        try {
+            entries.put(key, userDetails, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every cached token of the given user, e.g. after a password change or deletion.
+     */
+    public void evictUser(String username) {
+        lock.lock();
+        try {
+            entries.removeIf((key, userDetails) -> userDetails.getUsername().equals(username));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.catalog.common.security.service;
+
+import com.example.catalog.common.auth.repository.UserRepository;
+import com.example.catalog.common.exception.LoginThrottledException;
+import com.example.catalog.common.security.jwt.JwtUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password logins that issue a JWT.
+ * <p>
+ * A login runs on a dedicated pool of {@code catalog.auth.login.threads} threads (one per core by default), which
+ * looks the user up once and checks the BCrypt hash, so a login storm cannot tie up the request threads with
+ * hashing. At most {@code catalog.auth.login.queue-per-thread} logins per thread wait for one, which bounds the wait
+ * to a few hashes; beyond that a login fails immediately with {@link LoginThrottledException}, before any database
+ * work, instead of queueing behind work it would time out on. Unknown usernames are checked against a dummy hash
+ * so they take as long as wrong passwords; it is encoded by the first such login, on the pool, so startup does not
+ * pay for a hash.
+ * <p>
+ * A hash stored with a lower cost than the encoder's ({@code catalog.auth.bcrypt.strength}) is re-encoded at the
+ * current cost after a successful login, on the same pool.
+ */
+@Service
+public class LoginService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginService.class);
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final ThreadPoolExecutor hashingExecutor;
+    private volatile String unknownUserHash;
+    private final Timer succeeded;
+    private final Timer failed;
+    private final Timer rejected;
+
+    public LoginService(UserDetailsServiceImpl userDetailsService, UserRepository userRepository,
+                        PasswordEncoder passwordEncoder, JwtUtil jwtUtil, MeterRegistry meterRegistry,
+                        @Value("${catalog.auth.login.threads:0}") int threads,
+                        @Value("${catalog.auth.login.queue-per-thread:8}") int queuePerThread) {
+        this.userDetailsService = userDetailsService;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.hashingExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize * queuePerThread),
+                Thread.ofPlatform().name("login-bcrypt-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.succeeded = loginTimer(meterRegistry, "success");
+        this.failed = loginTimer(meterRegistry, "failure");
+        this.rejected = loginTimer(meterRegistry, "rejected");
+        Gauge.builder("catalog.auth.login.queued", hashingExecutor, executor -> executor.getQueue().size())
+                .description("Logins waiting for a password-hashing thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks the password and issues a token.
+     *
+     * @return The JWT, or a future failed with {@link BadCredentialsException} if the username or password
+     *         is wrong.
+     * @throws LoginThrottledException if the login queue is full.
+     */
+    public CompletableFuture<String> login(String username, String password) {
+        long start = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(username, password), hashingExecutor)
+                    .whenComplete((jwt, e) ->
+                            (e == null ? succeeded : failed).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        } catch (RejectedExecutionException e) {
+            rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new LoginThrottledException("Too many logins in progress, retry later");
+        }
+    }
+
+    private String authenticate(String username, String password) {
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            user = null;
+        }
+        String hash = user == null ? unknownUserHash() : user.getPassword();
+        if (!passwordEncoder.matches(password, hash) || user == null) {
+            throw new BadCredentialsException("Incorrect username or password");
+        }
+        if (passwordEncoder.upgradeEncoding(hash)) {
+            upgrade(user.getUsername(), password, hash);
+        }
+        return jwtUtil.generateToken(user);
+    }
+
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            // Concurrent first logins may each encode one; any of them will do
+            hash = passwordEncoder.encode("unknown-user");
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
+
+    private void upgrade(String username, String password, String current) {
+        try {
+            if (userRepository.replacePassword(username, current, passwordEncoder.encode(password)) == 1) {
+                logger.info("Upgraded the password hash of user {} to the current cost", username);
+            }
+        } catch (RuntimeException e) {
+            // The old hash still works; the next login tries again
+            logger.warn("Could not upgrade the password hash of user {}", username, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        hashingExecutor.shutdown();
+    }
+
+    private static Timer loginTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("catalog.auth.login")
+                .description("Login latency, including the wait for a password-hashing thread")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.catalog.common.security.service;
 
 import com.example.catalog.common.auth.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -10,14 +12,25 @@ import org.springframework.stereotype.Service;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Counter usersFound;
+    private final Counter usersNotFound;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.usersFound = Counter.builder("catalog.auth.user.lookups").tag("result", "found")
+                .description("User lookups by username").register(meterRegistry);
+        this.usersNotFound = Counter.builder("catalog.auth.user.lookups").tag("result", "not_found")
+                .description("User lookups by username").register(meterRegistry);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        UserDetails user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            usersNotFound.increment();
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+        usersFound.increment();
+        return user;
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.catalog.common.startup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the work that runs in the background once the application has started (index warm-up, cache priming,
+ * admin seeding), and reports {@code OUT_OF_SERVICE} until all of it is done. It is part of the readiness group
+ * ({@code /actuator/health/readiness}), so a new instance only gets traffic once it is warm.
+ * Tasks call {@link #begin(String)} while the context starts, before readiness is first reported, and
+ * {@link #done(String)} when they finish or fail.
+ */
+@Component
+public class StartupWarmUp implements HealthIndicator {
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public void begin(String task) {
+        pending.add(task);
+    }
+
+    public void done(String task) {
+        pending.remove(task);
+    }
+
+    @Override
+    public Health health() {
+        List<String> tasks = List.copyOf(pending);
+        return tasks.isEmpty() ? Health.up().build() : Health.outOfService().withDetail("pending", tasks).build();
+    }
+}
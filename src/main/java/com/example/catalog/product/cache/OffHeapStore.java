@@ -0,0 +1,121 @@
+package com.example.catalog.product.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU store of serialized values in one direct (off-heap) buffer, bounded by total bytes.
+ * <p>
+ * The buffer is allocated once and cut into fixed-size blocks; a value occupies as many blocks as it needs, not
+ * necessarily adjacent, and they return to a free list when it is removed. Storing an entry therefore never
+ * allocates direct memory, and the store never holds more than {@code maxBytes} of it. Where each value's blocks
+ * are, its length and its expiry time, kept from the tier the entry came from, are held on the heap.
+ * Not thread-safe: callers must serialize access.
+ */
+final class OffHeapStore {
+
+    static final int DEFAULT_BLOCK_SIZE = 256;
+
+    /**
+     * A value taken out of the store, with the {@link System#nanoTime()} at which it expires.
+     */
+    record Value(byte[] bytes, long expiresAtNanos) {
+    }
+
+    private record Entry(int[] blocks, int length, long expiresAtNanos) {
+    }
+
+    private final ByteBuffer slab;
+    private final int blockSize;
+    private final int[] freeBlocks;
+    private int freeCount;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    OffHeapStore(long maxBytes) {
+        this(maxBytes, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code maxBytes} does not fit in one direct buffer or holds no block.
+     */
+    OffHeapStore(long maxBytes, int blockSize) {
+        if (maxBytes > Integer.MAX_VALUE || maxBytes < blockSize) {
+            throw new IllegalArgumentException("The off-heap tier must hold between " + blockSize + " and "
+                    + Integer.MAX_VALUE + " bytes: " + maxBytes);
+        }
+        int blockCount = (int) (maxBytes / blockSize);
+        this.slab = ByteBuffer.allocateDirect(blockCount * blockSize);
+        this.blockSize = blockSize;
+        this.freeBlocks = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            freeBlocks[i] = blockCount - 1 - i;
+        }
+        this.freeCount = blockCount;
+    }
+
+    void put(Long key, byte[] value, long expiresAtNanos) {
+        int needed = (value.length + blockSize - 1) / blockSize;
+        if (needed > freeBlocks.length) {
+            return;
+        }
+        remove(key);
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (freeCount < needed) {
+            free(eldest.next().getValue());
+            eldest.remove();
+        }
+        int[] blocks = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            blocks[i] = freeBlocks[--freeCount];
+            int offset = i * blockSize;
+            slab.put(blocks[i] * blockSize, value, offset, Math.min(blockSize, value.length - offset));
+        }
+        entries.put(key, new Entry(blocks, value.length, expiresAtNanos));
+    }
+
+    /**
+     * Removes and returns the value, so a hit can be promoted back to the heap tier.
+     */
+    Value take(Long key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        free(entry);
+        if (System.nanoTime() - entry.expiresAtNanos() >= 0) {
+            return null;
+        }
+        byte[] value = new byte[entry.length()];
+        for (int i = 0; i < entry.blocks().length; i++) {
+            int offset = i * blockSize;
+            slab.get(entry.blocks()[i] * blockSize, value, offset, Math.min(blockSize, value.length - offset));
+        }
+        return new Value(value, entry.expiresAtNanos());
+    }
+
+    void remove(Long key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            free(entry);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The bytes not taken by any entry's blocks.
+     */
+    long freeBytes() {
+        return (long) freeCount * blockSize;
+    }
+
+    private void free(Entry entry) {
+        for (int block : entry.blocks()) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.catalog.product.cache;
+
+import com.example.catalog.common.cache.SegmentedLruCache;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductChangeListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded two-tier read-through cache of products by ID.
+ * <p>
+ * The in-heap tier is a segmented LRU with size and TTL eviction. When the off-heap tier is enabled,
+ * entries evicted from the heap are serialized into a preallocated direct buffer ({@link OffHeapStore}) and
+ * promoted back on their next hit. An entry keeps the expiry it got when it was loaded as it moves between the tiers.
+ * Entries are serialized and deserialized outside the cache's lock; one invalidated meanwhile is not stored.
+ * Entries are invalidated when {@code ProductService} saves or deletes the product. Callers always receive
+ * a copy, so mutating a returned product never changes the cached one.
+ */
+@Component
+public class ProductCache implements ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCache.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SegmentedLruCache<Long, Product> heap;
+    private final OffHeapStore offHeap;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong heapHits = new AtomicLong();
+    private final AtomicLong offHeapHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    // Incremented on every invalidation; a load that raced with a write must not be cached
+    private long writeEpoch;
+    // Heap evictions waiting to be serialized into the off-heap tier, guarded by the lock
+    private List<Spill> spills = new ArrayList<>();
+
+    private record Spill(Long id, Product product, long expiresAtNanos, long epoch) {
+    }
+
+    public ProductCache(ObjectMapper objectMapper,
+                        @Value("${catalog.cache.products.max-size:10000}") int maxSize,
+                        @Value("${catalog.cache.products.ttl:10m}") Duration ttl,
+                        @Value("${catalog.cache.products.off-heap.enabled:false}") boolean offHeapEnabled,
+                        @Value("${catalog.cache.products.off-heap.max-bytes:67108864}") long offHeapMaxBytes) {
+        this.objectMapper = objectMapper;
+        this.offHeap = offHeapEnabled ? new OffHeapStore(offHeapMaxBytes) : null;
+        this.heap = new SegmentedLruCache<>(maxSize, ttl.toNanos(), this::onHeapEviction);
+    }
+
+    /**
+     * Returns the cached product, or loads it with {@code loader} and caches the result.
+     *
+     * @param id The product ID.
+     * @param loader Loads the product from the database; may return null if it does not exist.
+     * @return A copy of the product, or null if it does not exist.
+     */
+    public Product get(Long id, Supplier<Product> loader) {
+        long epoch;
+        OffHeapStore.Value spilled = null;
+        lock.lock();
+        try {
+            Product cached = heap.get(id);
+            if (cached != null) {
+                heapHits.incrementAndGet();
+                return copyOf(cached);
+            }
+            if (offHeap != null) {
+                spilled = offHeap.take(id);
+            }
+            epoch = writeEpoch;
+        } finally {
+            lock.unlock();
+        }
+
+        if (spilled != null) {
+            Product promoted = deserialize(id, spilled);
+            if (promoted != null) {
+                offHeapHits.incrementAndGet();
+                promote(Map.of(id, promoted), Map.of(id, spilled.expiresAtNanos()), epoch);
+                return copyOf(promoted);
+            }
+        }
+        misses.incrementAndGet();
+        Product loaded = loader.get();
+        if (loaded == null) {
+            return null;
+        }
+        List<Spill> evicted;
+        lock.lock();
+        try {
+            if (epoch == writeEpoch) {
+                heap.put(id, copyOf(loaded));
+            }
+            evicted = takeSpills();
+        } finally {
+            lock.unlock();
+        }
+        spill(evicted);
+        return loaded;
+    }
+
+    /**
+     * Returns the cached products with the given IDs, loading all the missing ones with a single call to
+     * {@code loader} and caching them.
+     *
+     * @param ids The product IDs.
+     * @param loader Loads the given products from the database, omitting those that do not exist.
+     * @return Copies of the products that exist, by ID.
+     */
+    public Map<Long, Product> getAll(Collection<Long> ids, Function<List<Long>, List<Product>> loader) {
+        Map<Long, Product> found = new HashMap<>();
+        Map<Long, OffHeapStore.Value> spilled = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long epoch;
+        lock.lock();
+        try {
+            for (Long id : ids) {
+                Product cached = heap.get(id);
+                OffHeapStore.Value value;
+                if (cached != null) {
+                    heapHits.incrementAndGet();
+                    found.put(id, copyOf(cached));
+                } else if (offHeap != null && (value = offHeap.take(id)) != null) {
+                    spilled.put(id, value);
+                } else {
+                    missing.add(id);
+                }
+            }
+            epoch = writeEpoch;
+        } finally {
+            lock.unlock();
+        }
+
+        if (!spilled.isEmpty()) {
+            Map<Long, Product> promoted = new HashMap<>();
+            Map<Long, Long> expiries = new HashMap<>();
+            spilled.forEach((id, value) -> {
+                Product product = deserialize(id, value);
+                if (product == null) {
+                    missing.add(id);
+                    return;
+                }
+                promoted.put(id, product);
+                expiries.put(id, value.expiresAtNanos());
+                found.put(id, copyOf(product));
+            });
+            offHeapHits.addAndGet(promoted.size());
+            promote(promoted, expiries, epoch);
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        misses.addAndGet(missing.size());
+        List<Product> loaded = loader.apply(missing);
+        List<Spill> evicted;
+        lock.lock();
+        try {
+            for (Product product : loaded) {
+                if (epoch == writeEpoch) {
+                    heap.put(product.getId(), copyOf(product));
+                }
+                found.put(product.getId(), product);
+            }
+            evicted = takeSpills();
+        } finally {
+            lock.unlock();
+        }
+        spill(evicted);
+        return found;
+    }
+
+    public ProductCacheStats stats() {
+        lock.lock();
+        try {
+            return new ProductCacheStats(heapHits.get(), offHeapHits.get(), misses.get(), evictions.get(),
+                    heap.size(), offHeap == null ? 0 : offHeap.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        invalidate(product.getId());
+    }
+
+    @Override
+    public void onProductDeleted(Long id) {
+        invalidate(id);
+    }
+
+    private void invalidate(Long id) {
+        lock.lock();
+        try {
+            writeEpoch++;
+            heap.remove(id);
+            if (offHeap != null) {
+                offHeap.remove(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called under the lock; the entry is serialized once the lock is released ({@link #spill(List)}).
+     */
+    private void onHeapEviction(Long id, Product product, long expiresAtNanos) {
+        evictions.incrementAndGet();
+        if (offHeap != null) {
+            spills.add(new Spill(id, product, expiresAtNanos, writeEpoch));
+        }
+    }
+
+    private List<Spill> takeSpills() {
+        if (spills.isEmpty()) {
+            return List.of();
+        }
+        List<Spill> taken = spills;
+        spills = new ArrayList<>();
+        return taken;
+    }
+
+    /**
+     * Serializes evicted entries into the off-heap tier. An entry is dropped instead if a product was invalidated
+     * since its eviction, as it may have been this one.
+     */
+    private void spill(List<Spill> evicted) {
+        while (!evicted.isEmpty()) {
+            List<byte[]> serialized = new ArrayList<>(evicted.size());
+            for (Spill spill : evicted) {
+                try {
+                    serialized.add(objectMapper.writeValueAsBytes(spill.product()));
+                } catch (IOException e) {
+                    serialized.add(null);
+                    logger.debug("Could not move product {} to the off-heap tier: {}", spill.id(), e.getMessage());
+                }
+            }
+            lock.lock();
+            try {
+                for (int i = 0; i < evicted.size(); i++) {
+                    Spill spill = evicted.get(i);
+                    if (serialized.get(i) != null && spill.epoch() == writeEpoch) {
+                        offHeap.put(spill.id(), serialized.get(i), spill.expiresAtNanos());
+                    }
+                }
+                evicted = takeSpills();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Product deserialize(Long id, OffHeapStore.Value value) {
+        try {
+            return objectMapper.readValue(value.bytes(), Product.class);
+        } catch (IOException e) {
+            logger.debug("Could not read product {} from the off-heap tier: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Moves deserialized off-heap entries back to the heap tier, with the expiry they had there, unless a product
+     * was invalidated since they were taken.
+     */
+    private void promote(Map<Long, Product> products, Map<Long, Long> expiries, long epoch) {
+        List<Spill> evicted;
+        lock.lock();
+        try {
+            if (epoch == writeEpoch) {
+                products.forEach((id, product) -> heap.put(id, product, expiries.get(id)));
+            }
+            evicted = takeSpills();
+        } finally {
+            lock.unlock();
+        }
+        spill(evicted);
+    }
+
+    private static Product copyOf(Product source) {
+        Product copy = new Product();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setPrice(source.getPrice());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.catalog.product.cache;
+
+/**
+ * Point-in-time counters of the product cache.
+ *
+ * @param heapHits Lookups answered by the in-heap tier.
+ * @param offHeapHits Lookups answered by the off-heap tier.
+ * @param misses Lookups that went to the database.
+ * @param evictions Entries evicted from the in-heap tier for size.
+ * @param heapSize Entries currently held in the in-heap tier.
+ * @param offHeapSize Entries currently held in the off-heap tier.
+ */
+public record ProductCacheStats(long heapHits, long offHeapHits, long misses, long evictions,
+                                int heapSize, int offHeapSize) {
+}
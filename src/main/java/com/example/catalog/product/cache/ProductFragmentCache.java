@@ -0,0 +1,83 @@
+package com.example.catalog.product.cache;
+
+import com.example.catalog.common.cache.SegmentedLruCache;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of the rendered HTML card of each product version on the catalog page, keyed by ID and validated
+ * against {@code updatedAt}, like {@link ProductJsonCache}. Entries are dropped when {@code ProductService} saves
+ * or deletes the product. Setting {@code catalog.ui.fragments.max-size=0} disables caching.
+ */
+@Component
+public class ProductFragmentCache implements ProductChangeListener {
+
+    private record Entry(LocalDateTime updatedAt, String html) {
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SegmentedLruCache<Long, Entry> entries;
+    private final boolean enabled;
+
+    public ProductFragmentCache(@Value("${catalog.ui.fragments.max-size:10000}") int maxSize,
+                                @Value("${catalog.ui.fragments.ttl:10m}") Duration ttl) {
+        this.enabled = maxSize > 0;
+        this.entries = new SegmentedLruCache<>(Math.max(maxSize, 1), ttl.toNanos(), (id, entry, expiresAtNanos) -> { });
+    }
+
+    /**
+     * @return The cached HTML of the product at version {@code updatedAt}, or null.
+     */
+    public String get(Long id, LocalDateTime updatedAt) {
+        if (!enabled) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            return entry != null && entry.updatedAt().equals(updatedAt) ? entry.html() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(Long id, LocalDateTime updatedAt, String html) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(id, new Entry(updatedAt, html));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        remove(product.getId());
+    }
+
+    @Override
+    public void onProductDeleted(Long id) {
+        remove(id);
+    }
+
+    private void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.catalog.product.cache;
+
+import com.example.catalog.common.cache.SegmentedLruCache;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductChangeListener;
+import com.fasterxml.jackson.core.SerializableString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of the serialized JSON of each product version, keyed by ID and validated against
+ * {@code updatedAt}. An entry is only returned for the exact version it was encoded from, so a product saved
+ * after its JSON was cached is re-encoded rather than served stale. Entries are also dropped when
+ * {@code ProductService} saves or deletes the product, so old versions do not occupy space.
+ * Setting {@code catalog.json.cache.max-size=0} disables caching.
+ */
+@Component
+public class ProductJsonCache implements ProductChangeListener {
+
+    private record Entry(LocalDateTime updatedAt, SerializableString json) {
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SegmentedLruCache<Long, Entry> entries;
+    private final boolean enabled;
+
+    public ProductJsonCache(@Value("${catalog.json.cache.max-size:10000}") int maxSize,
+                            @Value("${catalog.json.cache.ttl:10m}") Duration ttl) {
+        this.enabled = maxSize > 0;
+        this.entries = new SegmentedLruCache<>(Math.max(maxSize, 1), ttl.toNanos(), (id, entry, expiresAtNanos) -> { });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The cached JSON of the product at version {@code updatedAt}, or null.
+     */
+    public SerializableString get(Long id, LocalDateTime updatedAt) {
+        if (!enabled) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            return entry != null && entry.updatedAt().equals(updatedAt) ? entry.json() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(Long id, LocalDateTime updatedAt, SerializableString json) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(id, new Entry(updatedAt, json));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        remove(product.getId());
+    }
+
+    @Override
+    public void onProductDeleted(Long id) {
+        remove(id);
+    }
+
+    private void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
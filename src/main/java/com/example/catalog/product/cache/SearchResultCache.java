@@ -0,0 +1,210 @@
+package com.example.catalog.product.cache;
+
+import com.example.catalog.common.cache.SegmentedLruCache;
+import com.example.catalog.product.dto.ProductSort;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.index.TextAnalyzer;
+import com.example.catalog.product.service.ProductChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of search results, keyed by the normalized search: the query trimmed and lowercased, the price
+ * range, and the order and limit. Only the IDs of the results are cached, in order; {@code ProductService} loads
+ * the rows through the {@link ProductCache}.
+ * <p>
+ * Invalidation is per product. A saved or deleted product evicts only the searches whose results contained it
+ * (it matched before) or whose filter its new state matches; every other cached search stays valid. The text
+ * filter is checked conservatively: a product matches when its name and description contain every term of the
+ * query, which covers both the database's substring match and the search index's term match.
+ * <p>
+ * Searches with more than {@code catalog.search.cache.max-results} results are not cached, and
+ * {@code catalog.search.cache.max-size=0} disables caching.
+ */
+@Component
+public class SearchResultCache implements ProductChangeListener {
+
+    // Changes remembered for searches that were running while they happened
+    private static final int MAX_RECENT_CHANGES = 1024;
+
+    /**
+     * A normalized search. Build it with {@link #key}.
+     */
+    public record Key(String query, Double minPrice, Double maxPrice, ProductSort sort, boolean descending,
+                      int limit) {
+    }
+
+    private record Entry(long[] ids, long[] sortedIds, List<String> terms) {
+    }
+
+    /**
+     * A committed write; {@code product} is null for a deletion.
+     */
+    private record Change(long epoch, Long id, Product product) {
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SegmentedLruCache<Key, Entry> entries;
+    private final ArrayDeque<Change> recentChanges = new ArrayDeque<>();
+    private final boolean enabled;
+    private final int maxResults;
+    // Incremented on every invalidation; recentChanges holds the latest ones
+    private long epoch;
+
+    public SearchResultCache(@Value("${catalog.search.cache.max-size:1000}") int maxSize,
+                             @Value("${catalog.search.cache.ttl:10m}") Duration ttl,
+                             @Value("${catalog.search.cache.max-results:1000}") int maxResults) {
+        this.enabled = maxSize > 0;
+        this.entries = new SegmentedLruCache<>(Math.max(maxSize, 1), ttl.toNanos(),
+                (key, entry, expiresAtNanos) -> { });
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Normalizes a search. Queries differing only in case or surrounding whitespace return the same results,
+     * and so do unsorted searches in either direction.
+     *
+     * @param limit The maximum number of results, or {@link Integer#MAX_VALUE} for all of them.
+     */
+    public static Key key(String query, Double minPrice, Double maxPrice, ProductSort sort, boolean descending,
+                          int limit) {
+        String normalized = query == null || query.isBlank() ? null : query.trim().toLowerCase(Locale.ROOT);
+        return new Key(normalized, minPrice, maxPrice, sort, sort != null && descending, limit);
+    }
+
+    /**
+     * @return The IDs of the cached results, in order, or null if the search is not cached.
+     */
+    public long[] get(Key key) {
+        if (!enabled) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            return entry == null ? null : entry.ids();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The current invalidation epoch, to be read before running a search that is then passed to
+     *         {@link #put}.
+     */
+    public long epoch() {
+        lock.lock();
+        try {
+            return epoch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches the results of a search, unless a product write committed since {@code startEpoch} may have changed
+     * them.
+     *
+     * @param ids The IDs of the results, in order.
+     * @param startEpoch The {@link #epoch()} read before the search ran.
+     */
+    public void put(Key key, long[] ids, long startEpoch) {
+        if (!enabled || ids.length > maxResults) {
+            return;
+        }
+        long[] sortedIds = ids.clone();
+        Arrays.sort(sortedIds);
+        Entry entry = new Entry(ids, sortedIds, key.query() == null ? List.of() : TextAnalyzer.tokenize(key.query()));
+        lock.lock();
+        try {
+            if (startEpoch != epoch) {
+                Change oldest = recentChanges.peekFirst();
+                if (oldest == null || oldest.epoch() > startEpoch + 1) {
+                    // Some of the changes since the search started are no longer known
+                    return;
+                }
+                for (Change change : recentChanges) {
+                    if (change.epoch() > startEpoch && isAffected(key, entry, change.id(), change.product())) {
+                        return;
+                    }
+                }
+            }
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every cached search, e.g. when the way results are computed changes.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            epoch++;
+            recentChanges.clear();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        invalidate(product.getId(), product);
+    }
+
+    @Override
+    public void onProductDeleted(Long id) {
+        invalidate(id, null);
+    }
+
+    private void invalidate(Long id, Product product) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            epoch++;
+            recentChanges.addLast(new Change(epoch, id, product));
+            if (recentChanges.size() > MAX_RECENT_CHANGES) {
+                recentChanges.removeFirst();
+            }
+            entries.removeIf((key, entry) -> isAffected(key, entry, id, product));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isAffected(Key key, Entry entry, Long id, Product product) {
+        return Arrays.binarySearch(entry.sortedIds(), id) >= 0 || (product != null && matches(key, entry, product));
+    }
+
+    private static boolean matches(Key key, Entry entry, Product product) {
+        BigDecimal price = product.getPrice();
+        if (key.minPrice() != null && (price == null || price.compareTo(BigDecimal.valueOf(key.minPrice())) < 0)) {
+            return false;
+        }
+        if (key.maxPrice() != null && (price == null || price.compareTo(BigDecimal.valueOf(key.maxPrice())) > 0)) {
+            return false;
+        }
+        if (entry.terms().isEmpty()) {
+            return true;
+        }
+        String text = (product.getName() + " " + product.getDescription()).toLowerCase(Locale.ROOT);
+        for (String term : entry.terms()) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
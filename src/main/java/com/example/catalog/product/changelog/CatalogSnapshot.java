@@ -0,0 +1,89 @@
+package com.example.catalog.product.changelog;
+
+import com.example.catalog.product.dto.CatalogHighWaterMark;
+import com.example.catalog.product.entity.Product;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory materialized view of the catalog, built incrementally from the {@link ChangeLog}: every appended
+ * event is applied as it is written, and on startup the whole log is replayed into it. It becomes ready once
+ * the log is known to hold the whole catalog, i.e. after a replay of a bootstrapped log or once the initial
+ * bootstrap from the products table has finished.
+ * <p>
+ * Products are kept ordered by ID. They are the snapshot's own copies and must not be modified by callers.
+ */
+@Component
+public class CatalogSnapshot {
+
+    private final ConcurrentSkipListMap<Long, Product> products = new ConcurrentSkipListMap<>();
+    private volatile long version;
+    private volatile boolean ready;
+
+    void apply(ChangeEvent event) {
+        if (event.type() == ChangeEvent.Type.SAVED) {
+            products.put(event.id(), event.product());
+        } else {
+            products.remove(event.id());
+        }
+        version = event.version();
+    }
+
+    void clear() {
+        products.clear();
+        version = 0;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    void markStale() {
+        ready = false;
+    }
+
+    /**
+     * @return true once the snapshot holds the whole catalog.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return The version of the last change applied.
+     */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    /**
+     * @return The high-water mark of the products table as this snapshot has it, to compare with the table's.
+     */
+    public CatalogHighWaterMark highWaterMark() {
+        long rows = 0;
+        LocalDateTime lastUpdatedAt = null;
+        for (Product product : products.values()) {
+            rows++;
+            LocalDateTime updatedAt = product.getUpdatedAt();
+            if (updatedAt != null && (lastUpdatedAt == null || updatedAt.isAfter(lastUpdatedAt))) {
+                lastUpdatedAt = updatedAt;
+            }
+        }
+        return new CatalogHighWaterMark(rows, lastUpdatedAt);
+    }
+
+    /**
+     * Passes every product to {@code action}, ordered by ID. Writes applied during the iteration may or may not
+     * be seen.
+     */
+    public void forEach(Consumer<Product> action) {
+        products.values().forEach(action);
+    }
+}
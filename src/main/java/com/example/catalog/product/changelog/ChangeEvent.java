@@ -0,0 +1,19 @@
+package com.example.catalog.product.changelog;
+
+import com.example.catalog.product.entity.Product;
+
+/**
+ * One committed product write, as recorded in the {@link ChangeLog}.
+ *
+ * @param version The position of the event in the log; consecutive, starting at 1.
+ * @param type Whether the product was saved (created or updated) or deleted.
+ * @param id The product ID.
+ * @param product The product as saved, or null for a deletion.
+ */
+public record ChangeEvent(long version, Type type, Long id, Product product) {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+}
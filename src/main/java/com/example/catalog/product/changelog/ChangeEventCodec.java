@@ -0,0 +1,121 @@
+package com.example.catalog.product.changelog;
+
+import com.example.catalog.product.entity.Product;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding of a {@link ChangeEvent} body: version, type and ID, followed for saves by the product's
+ * fields. Strings are a length (-1 for null) and UTF-8 bytes; timestamps are epoch seconds and nanos
+ * (nanos -1 for null). Not thread-safe: the encode buffer is reused.
+ */
+final class ChangeEventCodec {
+
+    private static final byte SAVED = 1;
+    private static final byte DELETED = 2;
+
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+
+    /**
+     * Encodes the event into a buffer that stays valid until the next call.
+     *
+     * @return The encoded body, positioned at 0 with the limit at its end.
+     */
+    ByteBuffer encode(ChangeEvent event) {
+        Product product = event.product();
+        byte[] name = null;
+        byte[] description = null;
+        byte[] price = null;
+        int size = Long.BYTES + 1 + Long.BYTES;
+        if (product != null) {
+            name = utf8(product.getName());
+            description = utf8(product.getDescription());
+            price = product.getPrice() == null ? null : utf8(product.getPrice().toString());
+            size += 3 * Integer.BYTES + length(name) + length(description) + length(price)
+                    + 2 * (Long.BYTES + Integer.BYTES);
+        }
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+        }
+        ByteBuffer out = scratch.clear();
+        out.putLong(event.version());
+        out.put(event.type() == ChangeEvent.Type.SAVED ? SAVED : DELETED);
+        out.putLong(event.id());
+        if (product != null) {
+            putBytes(out, name);
+            putBytes(out, description);
+            putBytes(out, price);
+            putDateTime(out, product.getCreatedAt());
+            putDateTime(out, product.getUpdatedAt());
+        }
+        return out.flip();
+    }
+
+    /**
+     * Decodes a body written by {@link #encode}; {@code in} is consumed.
+     */
+    static ChangeEvent decode(ByteBuffer in) {
+        long version = in.getLong();
+        byte type = in.get();
+        long id = in.getLong();
+        if (type == DELETED) {
+            return new ChangeEvent(version, ChangeEvent.Type.DELETED, id, null);
+        }
+        if (type != SAVED) {
+            throw new IllegalArgumentException("Unknown change event type " + type);
+        }
+        Product product = new Product();
+        product.setId(id);
+        product.setName(getString(in));
+        product.setDescription(getString(in));
+        String price = getString(in);
+        product.setPrice(price == null ? null : new BigDecimal(price));
+        product.setCreatedAt(getDateTime(in));
+        product.setUpdatedAt(getDateTime(in));
+        return new ChangeEvent(version, ChangeEvent.Type.SAVED, id, product);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putDateTime(ByteBuffer out, LocalDateTime value) {
+        if (value == null) {
+            out.putLong(0).putInt(-1);
+        } else {
+            out.putLong(value.toEpochSecond(ZoneOffset.UTC)).putInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime getDateTime(ByteBuffer in) {
+        long seconds = in.getLong();
+        int nanos = in.getInt();
+        return nanos < 0 ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,452 @@
+package com.example.catalog.product.changelog;
+
+import com.example.catalog.product.dto.ProductChangeFeed;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductChangeListener;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of committed product writes, stored in memory-mapped segment files under
+ * {@code catalog.changelog.dir}. Every save and delete notified by {@code ProductService} becomes a
+ * {@link ChangeEvent} with the next version and is applied to the {@link CatalogSnapshot}.
+ * <p>
+ * A new log is bootstrapped once from the products table ({@link #bootstrap(Product)} for each row, then
+ * {@link #markBootstrapped()}); from then on a restart replays the log into the snapshot instead of scanning
+ * the table. A log whose bootstrap never finished, or whose appends failed, is discarded on startup and
+ * bootstrapped again. A replayed log is checked against the products table by comparing the snapshot's
+ * {@link CatalogSnapshot#highWaterMark() high-water mark} with the table's, and {@link #rebootstrap()} starts a new
+ * log when they differ.
+ * <p>
+ * Each segment starts with a header (magic, flags, log ID); each record is its length, a CRC32C of the body,
+ * and the body ({@link ChangeEventCodec}). Replay stops at the first torn or corrupt record and writing resumes
+ * there. Writes reach the page cache immediately, so they survive a crash of the process; segments are forced
+ * to disk when the bootstrap completes and on shutdown. Like the product cache and indexes, the log only sees
+ * the writes of this instance, and a write whose process dies between commit and append is missing from it
+ * until the high-water mark check finds the difference on the next startup.
+ */
+@Component
+public class ChangeLog implements ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLog.class);
+    private static final int MAGIC = 0x434c4f47; // "CLOG"
+    private static final int FLAGS_OFFSET = 4;
+    private static final int LOG_ID_OFFSET = 8;
+    private static final int HEADER_SIZE = 16;
+    private static final int FLAG_BOOTSTRAPPED = 1;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    // The position of every 64th record is kept, so a read starts at most 63 records before its first change
+    private static final int INDEX_INTERVAL = 64;
+    private static final String SEGMENT_PREFIX = "changes-";
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CatalogSnapshot snapshot;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxBatch;
+    private final ChangeEventCodec codec = new ChangeEventCodec();
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Set<Long> writtenDuringBootstrap = new HashSet<>();
+    // Positions (segment << 32 | offset) of versions 1, 1 + INDEX_INTERVAL, 1 + 2 * INDEX_INTERVAL, ...
+    private long[] index = new long[1024];
+    private long logId;
+    private long version;
+    private int writeOffset;
+    private volatile boolean bootstrapped;
+    private volatile boolean failed;
+
+    public ChangeLog(CatalogSnapshot snapshot,
+                     @Value("${catalog.changelog.enabled:true}") boolean enabled,
+                     @Value("${catalog.changelog.dir:data/changelog}") String directory,
+                     @Value("${catalog.changelog.segment-size:64MB}") DataSize segmentSize,
+                     @Value("${catalog.changelog.max-batch:1000}") int maxBatch) {
+        this.snapshot = snapshot;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.maxBatch = maxBatch;
+        if (this.segmentSize <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("catalog.changelog.segment-size is too small: " + segmentSize);
+        }
+        if (enabled) {
+            try {
+                open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open the change log in " + this.directory, e);
+            }
+        }
+    }
+
+    /**
+     * @return true if the log is enabled and no append has failed.
+     */
+    public boolean isAvailable() {
+        return enabled && !failed;
+    }
+
+    /**
+     * @return true once the log holds the whole catalog.
+     */
+    public boolean isBootstrapped() {
+        return bootstrapped;
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        append(ChangeEvent.Type.SAVED, product.getId(), product, false);
+    }
+
+    @Override
+    public void onProductDeleted(Long id) {
+        append(ChangeEvent.Type.DELETED, id, null, false);
+    }
+
+    /**
+     * Appends a product read by the bootstrap scan, unless the log is already bootstrapped or a live write for
+     * the same ID has been appended since the bootstrap started (the scan may have read an older row).
+     */
+    public void bootstrap(Product product) {
+        append(ChangeEvent.Type.SAVED, product.getId(), product, true);
+    }
+
+    /**
+     * Records that every product has been passed to {@link #bootstrap(Product)}, so later restarts replay the log.
+     */
+    public void markBootstrapped() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (failed || bootstrapped) {
+                return;
+            }
+            // The events must be on disk before the flag that vouches for them
+            segments.forEach(MappedByteBuffer::force);
+            MappedByteBuffer first = segments.getFirst();
+            first.putInt(FLAGS_OFFSET, FLAG_BOOTSTRAPPED);
+            first.force();
+            bootstrapped = true;
+            writtenDuringBootstrap.clear();
+            snapshot.markReady();
+            logger.info("Change log bootstrapped with {} events", version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards the log and starts a new one, with a new log ID, to be bootstrapped from the products table again.
+     * Used when a replayed log no longer matches the table, e.g. after writes by another instance. Segments being
+     * read by {@link #changesSince(long, Integer)} stay mapped until the read finishes.
+     */
+    public void rebootstrap() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            bootstrapped = false;
+            snapshot.markStale();
+            snapshot.clear();
+            segments.clear();
+            writtenDuringBootstrap.clear();
+            index = new long[1024];
+            version = 0;
+            failed = false;
+            deleteSegments();
+            logId = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+            addSegment();
+            logger.warn("Discarded the change log in {}: it no longer matches the products table", directory);
+        } catch (IOException e) {
+            fail(new UncheckedIOException("Cannot delete the segments in " + directory, e));
+        } catch (RuntimeException e) {
+            fail(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the changes after version {@code since}, oldest first.
+     *
+     * @param since The last version the caller has applied; 0 for the whole log.
+     * @param limit The maximum number of changes to return, or null for {@code catalog.changelog.max-batch};
+     *              capped at that value.
+     */
+    public ProductChangeFeed changesSince(long since, Integer limit) {
+        int batchSize = limit == null || limit <= 0 ? maxBatch : Math.min(limit, maxBatch);
+        long start = Math.max(since, 0);
+        long last;
+        long position;
+        boolean complete;
+        List<MappedByteBuffer> readable;
+        lock.lock();
+        try {
+            last = version;
+            complete = bootstrapped;
+            if (start >= last) {
+                return new ProductChangeFeed(logId(), last, complete, false, List.of());
+            }
+            position = index[(int) (start / INDEX_INTERVAL)];
+            readable = List.copyOf(segments);
+        } finally {
+            lock.unlock();
+        }
+        // Records up to 'last' are complete and never rewritten, so they can be read without the lock
+        List<ChangeEvent> changes = new ArrayList<>();
+        int segment = (int) (position >>> 32);
+        int offset = (int) position;
+        long current = start / INDEX_INTERVAL * INDEX_INTERVAL;
+        while (current < last && changes.size() < batchSize) {
+            MappedByteBuffer buffer = readable.get(segment);
+            int length = offset + RECORD_HEADER_SIZE <= buffer.capacity() ? buffer.getInt(offset) : 0;
+            if (length == 0) {
+                segment++;
+                offset = HEADER_SIZE;
+                continue;
+            }
+            current++;
+            if (current > start) {
+                changes.add(ChangeEventCodec.decode(buffer.slice(offset + RECORD_HEADER_SIZE, length)));
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        long next = changes.isEmpty() ? start : changes.getLast().version();
+        return new ProductChangeFeed(logId(), next, complete, next < last, changes);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            segments.forEach(MappedByteBuffer::force);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String logId() {
+        return Long.toString(logId, 36);
+    }
+
+    private void append(ChangeEvent.Type type, Long id, Product product, boolean fromBootstrap) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (failed || (fromBootstrap && (bootstrapped || writtenDuringBootstrap.contains(id)))) {
+                return;
+            }
+            if (!fromBootstrap && !bootstrapped) {
+                writtenDuringBootstrap.add(id);
+            }
+            appendLocked(type, id, product);
+        } catch (RuntimeException e) {
+            fail(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendLocked(ChangeEvent.Type type, Long id, Product product) {
+        ByteBuffer body = codec.encode(new ChangeEvent(version + 1, type, id, product));
+        int length = body.remaining();
+        if (HEADER_SIZE + RECORD_HEADER_SIZE + length > segmentSize) {
+            throw new IllegalStateException("A change event of " + length + " bytes does not fit in a segment");
+        }
+        MappedByteBuffer segment = segments.getLast();
+        if (writeOffset + RECORD_HEADER_SIZE + length > segment.capacity()) {
+            segment = addSegment();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        if (version % INDEX_INTERVAL == 0) {
+            addToIndex(version / INDEX_INTERVAL, (long) (segments.size() - 1) << 32 | writeOffset);
+        }
+        // The length goes last, so a record is never visible before its body
+        segment.put(writeOffset + RECORD_HEADER_SIZE, body, 0, length);
+        segment.putInt(writeOffset + Integer.BYTES, (int) crc.getValue());
+        segment.putInt(writeOffset, length);
+        writeOffset += RECORD_HEADER_SIZE + length;
+        version++;
+        // Decoded from the record, so the snapshot holds its own copy, identical to what a replay produces
+        snapshot.apply(ChangeEventCodec.decode(body));
+    }
+
+    /**
+     * Stops appending after a failed write. The bootstrapped flag is cleared, so the next startup discards
+     * the incomplete log and builds a new one from the products table.
+     */
+    private void fail(RuntimeException e) {
+        failed = true;
+        bootstrapped = false;
+        snapshot.markStale();
+        try {
+            MappedByteBuffer first = segments.getFirst();
+            first.putInt(FLAGS_OFFSET, 0);
+            first.force();
+        } catch (RuntimeException suppressed) {
+            e.addSuppressed(suppressed);
+        }
+        logger.error("Could not append to the change log in {}; the change feed is unavailable until restart",
+                directory, e);
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)).sorted().toList();
+        }
+        if (!files.isEmpty()) {
+            MappedByteBuffer first = map(files.getFirst(), 0, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (first.capacity() >= HEADER_SIZE && first.getInt(0) == MAGIC
+                    && (first.getInt(FLAGS_OFFSET) & FLAG_BOOTSTRAPPED) != 0) {
+                logId = first.getLong(LOG_ID_OFFSET);
+                replay(files, first);
+                bootstrapped = true;
+                snapshot.markReady();
+                logger.info("Replayed {} change log events into a snapshot of {} products",
+                        version, snapshot.size());
+                return;
+            }
+            logger.warn("Discarding the change log in {}: it was never bootstrapped or an append failed", directory);
+            deleteSegments();
+        }
+        logId = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+        addSegment();
+    }
+
+    private void replay(List<Path> files, MappedByteBuffer first) throws IOException {
+        for (int i = 0; i < files.size(); i++) {
+            MappedByteBuffer segment = i == 0 ? first
+                    : map(files.get(i), 0, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (segment.capacity() < HEADER_SIZE || segment.getInt(0) != MAGIC
+                    || segment.getLong(LOG_ID_OFFSET) != logId) {
+                truncate(files, i);
+                return;
+            }
+            segments.add(segment);
+            int offset = HEADER_SIZE;
+            int length;
+            while ((length = validRecordLength(segment, offset)) > 0) {
+                ChangeEvent event = ChangeEventCodec.decode(segment.slice(offset + RECORD_HEADER_SIZE, length));
+                if (event.version() != version + 1) {
+                    break;
+                }
+                if (version % INDEX_INTERVAL == 0) {
+                    addToIndex(version / INDEX_INTERVAL, (long) i << 32 | offset);
+                }
+                version = event.version();
+                snapshot.apply(event);
+                offset += RECORD_HEADER_SIZE + length;
+            }
+            writeOffset = offset;
+            boolean cleanEnd = offset + RECORD_HEADER_SIZE > segment.capacity() || segment.getInt(offset) == 0;
+            if (!cleanEnd) {
+                logger.warn("Change log segment {} has a torn or corrupt record at offset {}; truncating after version {}",
+                        files.get(i).getFileName(), offset, version);
+                zeroFrom(segment, offset);
+                truncate(files, i + 1);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The body length of the record at {@code offset}, or 0 if there is none or it fails its checksum.
+     */
+    private static int validRecordLength(MappedByteBuffer segment, int offset) {
+        if (offset + RECORD_HEADER_SIZE > segment.capacity()) {
+            return 0;
+        }
+        int length = segment.getInt(offset);
+        if (length <= 0 || length > segment.capacity() - offset - RECORD_HEADER_SIZE) {
+            return 0;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(offset + RECORD_HEADER_SIZE, length));
+        return (int) crc.getValue() == segment.getInt(offset + Integer.BYTES) ? length : 0;
+    }
+
+    /**
+     * Deletes every segment file. Mapped segments stay readable until unmapped, and new segments are new files.
+     */
+    private void deleteSegments() throws IOException {
+        try (Stream<Path> list = Files.list(directory)) {
+            for (Path file : list.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private void truncate(List<Path> files, int from) throws IOException {
+        for (int i = from; i < files.size(); i++) {
+            Files.delete(files.get(i));
+        }
+    }
+
+    private static void zeroFrom(MappedByteBuffer segment, int offset) {
+        byte[] zeros = new byte[8192];
+        for (int i = offset; i < segment.capacity(); i += zeros.length) {
+            segment.put(i, zeros, 0, Math.min(zeros.length, segment.capacity() - i));
+        }
+    }
+
+    private MappedByteBuffer addSegment() {
+        Path path = directory.resolve(String.format("%s%06d.log", SEGMENT_PREFIX, segments.size()));
+        MappedByteBuffer segment;
+        try {
+            segment = map(path, segmentSize, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create change log segment " + path, e);
+        }
+        segment.putInt(0, MAGIC).putInt(FLAGS_OFFSET, 0).putLong(LOG_ID_OFFSET, logId);
+        segments.add(segment);
+        writeOffset = HEADER_SIZE;
+        return segment;
+    }
+
+    private static MappedByteBuffer map(Path path, long size, OpenOption... options) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+        }
+    }
+
+    private void addToIndex(long slot, long position) {
+        if (slot >= index.length) {
+            index = Arrays.copyOf(index, index.length * 2);
+        }
+        index[(int) slot] = position;
+    }
+}
@@ -1,37 +1,174 @@
 package com.example.catalog.product.controller;
 
 import com.example.catalog.common.exception.NotFoundException;
+import com.example.catalog.product.cache.ProductCache;
+import com.example.catalog.product.cache.ProductCacheStats;
+import com.example.catalog.product.changelog.CatalogSnapshot;
+import com.example.catalog.product.changelog.ChangeLog;
+import com.example.catalog.product.dto.BulkOperationReport;
+import com.example.catalog.product.dto.PriceUpdateRequest;
+import com.example.catalog.product.dto.ProductChangeFeed;
 import com.example.catalog.product.dto.ProductDto;
+import com.example.catalog.product.dto.ProductFacets;
+import com.example.catalog.product.dto.ProductImportReport;
+import com.example.catalog.product.dto.ProductPage;
+import com.example.catalog.product.dto.ProductSort;
+import com.example.catalog.product.dto.ProductSummary;
 import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductImportService;
 import com.example.catalog.product.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * REST controller for managing products.
+ * <p>
+ * Reads carry validators: a product's ETag and Last-Modified come from its ID and {@code updatedAt}, and a matching
+ * {@code If-None-Match} or {@code If-Modified-Since} is answered with 304 before anything is serialized. Listings,
+ * searches and suggestions have no single timestamp, so their ETag is a digest of the rows in the result; every
+ * instance computes the same tag for the same data, and a 304 saves serializing and sending the body. Responses are
+ * {@code private, no-cache} so browsers always revalidate; setting {@code catalog.http.cache.shared-max-age}
+ * makes them {@code public} with that {@code s-maxage} for a CDN.
  */
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductCache productCache;
+    private final ChangeLog changeLog;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ObjectWriter ndjsonWriter;
+    private final CacheControl cacheControl;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService productImportService,
+                             ProductCache productCache,
+                             ChangeLog changeLog, CatalogSnapshot catalogSnapshot, ObjectMapper objectMapper,
+                             @Value("${catalog.http.cache.shared-max-age:0s}") Duration sharedMaxAge) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productCache = productCache;
+        this.changeLog = changeLog;
+        this.catalogSnapshot = catalogSnapshot;
+        this.ndjsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.cacheControl = sharedMaxAge.isZero()
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(Duration.ZERO).sMaxAge(sharedMaxAge).cachePublic();
     }
 
     // --- CRUD Operations ---
 
     /**
-     * READ: Retrieves all products.
+     * READ: Retrieves a page of products using keyset pagination on the product ID.
      * HTTP Method: GET
-     * Endpoint: /api/products
+     * Endpoint: /api/products?cursor={nextCursor}&size={size}&view={full|summary}
+     *
+     * @param cursor The nextCursor returned by the previous page; omit for the first page.
+     * @param size The page size; capped by the server.
+     * @param view "summary" to return only id, name and price; "full" (default) for whole products.
+     * @return The page of products and the cursor for the next page, or 304 if the page has not changed.
      */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.findAll());
+    public ResponseEntity<ProductPage<?>> getAllProducts(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = VIEW_FULL) String view,
+            WebRequest webRequest) {
+        ProductPage<?> page = isSummaryView(view)
+                ? productService.findSummaryPage(cursor, size)
+                : productService.findPage(cursor, size);
+        return conditionalGet(webRequest, contentEtag(page.getContent(), page.getNextCursor()), page);
+    }
+
+    /**
+     * READ: Streams all products as newline-delimited JSON, ordered by ID. Once the change log snapshot holds
+     * the catalog the rows come from memory; until then each row is written as it is read from the database.
+     * HTTP Method: GET
+     * Endpoint: /api/products/stream
+     */
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public void streamAllProducts(HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        Consumer<Product> writeLine = product -> {
+            try {
+                ndjsonWriter.writeValue(out, product);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        if (catalogSnapshot.isReady()) {
+            catalogSnapshot.forEach(writeLine);
+        } else {
+            productService.forEachProduct(writeLine);
+        }
+        out.flush();
+    }
+
+    /**
+     * READ: Suggests products as the user types: names with a word starting with the prefix, cheapest first.
+     * Served from the in-memory suggestion index without touching the database once it is warm.
+     * HTTP Method: GET
+     * Endpoint: /api/products/suggest?prefix={prefix}&limit={limit}
+     *
+     * @return Up to {@code limit} products (id, name, price), or 304 if the suggestions have not changed.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSummary>> suggestProducts(@RequestParam String prefix,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                WebRequest webRequest) {
+        List<ProductSummary> suggestions = productService.suggest(prefix, limit);
+        return conditionalGet(webRequest, contentEtag(suggestions, null), suggestions);
+    }
+
+    /**
+     * READ: Returns the product changes recorded after a version of the change log, oldest first.
+     * Start with {@code since=0} (the whole catalog, once the log is bootstrapped), then pass the returned
+     * version on each call. A new logId means the log was rebuilt and the client must start again from 0.
+     * HTTP Method: GET
+     * Endpoint: /api/products/changes?since={version}&limit={limit}
+     *
+     * @return The changes, or 503 Service Unavailable if the change log is disabled or failed.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangeFeed> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                        @RequestParam(required = false) Integer limit) {
+        if (!changeLog.isAvailable()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(changeLog.changesSince(since, limit));
     }
 
     /**
@@ -40,23 +177,86 @@ public class ProductController {
      * Endpoint: /api/products/{id}
      *
      * @param id The ID of the product.
-     * @return The product or a 404 Not Found response.
+     * @return The product, 304 if it has not changed, or a 404 Not Found response.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        return productService.findById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<Product> getProductById(@PathVariable Long id, WebRequest webRequest) {
+        Product product = productService.findById(id)
                 .orElseThrow(() -> new NotFoundException("Product with ID " + id + " not found."));
+        if (product.getUpdatedAt() == null) {
+            return ResponseEntity.ok().cacheControl(cacheControl).body(product);
+        }
+        // Microseconds: the precision the database keeps, so the tag is stable across reloads
+        Instant updatedAt = product.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant()
+                .truncatedTo(ChronoUnit.MICROS);
+        String etag = "\"" + id + "-" + updatedAt.getEpochSecond() + "." + updatedAt.getNano() / 1000 + "\"";
+        return conditionalGet(webRequest, etag, updatedAt, () -> product);
+    }
+
+    /**
+     * READ: Returns the hit, miss and eviction counters of the product cache.
+     * HTTP Method: GET
+     * Endpoint: /api/products/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ProductCacheStats> getCacheStats() {
+        return ResponseEntity.ok(productCache.stats());
     }
 
+    /**
+     * READ: Searches products by text and price range.
+     * HTTP Method: GET
+     * Endpoint: /api/products/search?searchQuery={query}&minPrice={min}&maxPrice={max}&sort={price|name|createdAt}&direction={asc|desc}&limit={n}&view={full|summary}
+     *
+     * @return The first {@code limit} matches in the requested order, 304 if they have not changed, or 400 Bad
+     *         Request for an unknown sort or direction, or a price bound that is not a number.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(
+    public ResponseEntity<List<?>> searchProducts(
+            @RequestParam(required = false) String searchQuery,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = VIEW_FULL) String view,
+            WebRequest webRequest) {
+        ProductSort order = sort == null ? null : ProductSort.fromParameter(sort);
+        Optional<Sort.Direction> sortDirection = Sort.Direction.fromOptionalString(direction);
+        if ((sort != null && order == null) || sortDirection.isEmpty() || isNaN(minPrice) || isNaN(maxPrice)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<?> matches = isSummaryView(view)
+                ? productService.searchProductSummaries(searchQuery, minPrice, maxPrice, order, sortDirection.get(), limit)
+                : productService.searchProducts(searchQuery, minPrice, maxPrice, order, sortDirection.get(), limit);
+        return conditionalGet(webRequest, contentEtag(matches, null), matches);
+    }
+
+    /**
+     * READ: Counts the products matching a search per price bucket and per created/updated date range.
+     * The counts are aggregated by the database; no products are loaded.
+     * HTTP Method: GET
+     * Endpoint: /api/products/search/facets?searchQuery={query}&minPrice={min}&maxPrice={max}&priceBuckets={10,50,100}
+     *
+     * @return The facet counts, or 400 Bad Request if more than {@link ProductService#MAX_PRICE_BUCKETS}
+     *         bucket boundaries are given or a price bound is not a number.
+     */
+    @GetMapping("/search/facets")
+    public ResponseEntity<ProductFacets> searchFacets(
             @RequestParam(required = false) String searchQuery,
             @RequestParam(required = false) Double minPrice,
-            @RequestParam(required = false) Double maxPrice) {
-        return ResponseEntity.ok(productService.searchProducts(searchQuery, minPrice, maxPrice));
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) List<BigDecimal> priceBuckets) {
+        if ((priceBuckets != null && priceBuckets.size() > ProductService.MAX_PRICE_BUCKETS)
+                || isNaN(minPrice) || isNaN(maxPrice)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productService.searchFacets(searchQuery, minPrice, maxPrice, priceBuckets));
     }
 
+    private static boolean isNaN(Double price) {
+        return price != null && price.isNaN();
+    }
 
 
     /**
@@ -77,6 +277,23 @@ public class ProductController {
         return ResponseEntity.ok(savedProduct);
     }
 
+    /**
+     * CREATE: Imports many products at once from an NDJSON stream or a JSON array.
+     * The body is parsed incrementally and written in JDBC batches, so feeds of any size use constant memory.
+     * HTTP Method: POST
+     * Endpoint: /api/products/bulk
+     *
+     * @return The import report with per-row errors.
+     */
+    @PostMapping(value = "/bulk", consumes = {APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProductImportReport> bulkImport(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        ProductImportReport report = contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? productImportService.importJsonArray(request.getInputStream())
+                : productImportService.importNdjson(request.getInputStream());
+        return ResponseEntity.ok(report);
+    }
+
     /**
      * UPDATE: Updates an existing product.
      * HTTP Method: PUT
@@ -112,4 +329,65 @@ public class ProductController {
         productService.deleteById(id);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * UPDATE: Sets new prices for many products using batched set-based updates.
+     * HTTP Method: PATCH
+     * Endpoint: /api/products/prices
+     *
+     * @param request The product IDs and their new prices.
+     * @return The per-chunk outcome, including IDs that were not found.
+     */
+    @PatchMapping("/prices")
+    public ResponseEntity<BulkOperationReport> updatePrices(@Valid @RequestBody PriceUpdateRequest request) {
+        return ResponseEntity.ok(productService.updatePrices(request.getUpdates()));
+    }
+
+    /**
+     * DELETE: Deletes many products using batched deletes.
+     * HTTP Method: DELETE
+     * Endpoint: /api/products?ids=1,2,3
+     *
+     * @param ids The IDs of the products to delete.
+     * @return The per-chunk outcome, including IDs that were not found.
+     */
+    @DeleteMapping
+    public ResponseEntity<BulkOperationReport> deleteProducts(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productService.deleteAllById(ids));
+    }
+
+    /**
+     * Answers 304 if the request's validators match, without computing the body; otherwise computes it and
+     * returns it with the validators and the cache policy.
+     */
+    private <T> ResponseEntity<T> conditionalGet(WebRequest webRequest, String etag, Instant lastModified,
+                                                 Supplier<? extends T> body) {
+        if (webRequest.checkNotModified(etag, lastModified.toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag).lastModified(lastModified).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag).lastModified(lastModified).cacheControl(cacheControl).body(body.get());
+    }
+
+    private <T> ResponseEntity<T> conditionalGet(WebRequest webRequest, String etag, T body) {
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body);
+    }
+
+    /**
+     * A strong ETag digesting every field of the rows, in order, and the next cursor. Products include their
+     * {@code updatedAt}, so a write changes the tag of every result the product appears in.
+     */
+    private static String contentEtag(List<?> rows, Long nextCursor) {
+        StringBuilder content = new StringBuilder().append(nextCursor);
+        rows.forEach(row -> content.append('\n').append(row));
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static boolean isSummaryView(String view) {
+        return VIEW_SUMMARY.equalsIgnoreCase(view);
+    }
 }
\ No newline at end of file
@@ -1,33 +1,50 @@
 package com.example.catalog.product.controller;
 
+import com.example.catalog.common.exception.NotFoundException;
+import com.example.catalog.product.dto.ProductPage;
 import com.example.catalog.product.entity.Product;
 import com.example.catalog.product.service.ProductService;
+import com.example.catalog.product.view.CatalogPageRenderer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import java.math.BigDecimal;
+
+import java.security.Principal;
 
 
 /**
  * Controller for rendering the Thymeleaf UI.
+ * Pages are rendered with data when the request carries the page cookie ({@code JwtCookie}), i.e. for a user who
+ * logged in through the UI; otherwise their JavaScript loads the data from the REST API.
  */
 @Controller
 @RequestMapping("/")
 public class ProductViewController {
     private final ProductService productService;
+    private final CatalogPageRenderer catalogPageRenderer;
 
-    public ProductViewController(ProductService productService) {
+    public ProductViewController(ProductService productService, CatalogPageRenderer catalogPageRenderer) {
         this.productService = productService;
+        this.catalogPageRenderer = catalogPageRenderer;
     }
 
 
     /**
-     * Renders the main product catalog page with a list of all products.
-     * Supports optional search functionality via query parameters for text and price range.
+     * Renders the main product catalog page with the first page of products (by ID), from cached fragments.
+     * The page's search form and "show all" button load further results via JavaScript.
      */
     @GetMapping("/products/main")
-    public String showAddProductMain(Model model) {
-        return "product-main"; // Refers to the Thymeleaf template products.html
+    public ResponseEntity<String> showAddProductMain(Principal principal) {
+        String page;
+        if (principal == null) {
+            page = catalogPageRenderer.render(null, false);
+        } else {
+            ProductPage<Product> firstPage = productService.findPage(null, null);
+            page = catalogPageRenderer.render(firstPage.getContent(), firstPage.getNextCursor() != null);
+        }
+        return ResponseEntity.ok().contentType(MediaType.TEXT_HTML).body(page);
     }
 
     /**
@@ -38,30 +55,23 @@ public class ProductViewController {
     public String showAddProductForm(Model model) {
         // Create an empty Product object to bind with the form
         model.addAttribute("productForm", new Product());
-        System.out.println("/products/new-->controller");
         return "product-form"; // Refers to the new Thymeleaf template product-form.html
     }
 
     /**
      * Renders the form to edit an existing product.
      * This method handles the GET request to the /products/edit/{id} endpoint.
+     * The product is read through the product cache; without the page cookie, the form loads it via JavaScript.
      */
     @GetMapping("/products/edit/{id}")
-    public String showEditProductForm(@PathVariable Long id,
-                                      @RequestParam(required = false) String name,
-                                      @RequestParam(required = false) String description,
-                                      @RequestParam(required = false) String price,
-                                      Model model) {
-
-        Product product =  new Product();
-        double parsedPrice = Double.parseDouble(price);
-        if (parsedPrice >= 0) { // Basic validation
+    public String showEditProductForm(@PathVariable Long id, Principal principal, Model model) {
+        Product product;
+        if (principal == null) {
+            product = new Product();
             product.setId(id);
-            product.setName(name);
-            product.setDescription(description);
-            product.setPrice(BigDecimal.valueOf(parsedPrice));
         } else {
-            throw new NumberFormatException("Price must be non-negative");
+            product = productService.findById(id)
+                    .orElseThrow(() -> new NotFoundException("Product with ID " + id + " not found."));
         }
         model.addAttribute("productForm", product);
         return "product-form";
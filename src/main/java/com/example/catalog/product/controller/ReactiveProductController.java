@@ -0,0 +1,70 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.common.exception.NotFoundException;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ReactiveProductService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only product API backed by R2DBC.
+ * The request thread is released as soon as the query is issued. With {@code Accept: application/x-ndjson}
+ * each product is written as soon as it is read, and the next row is requested only after the previous one is
+ * written, so slow clients apply backpressure down to the database. Otherwise the results are sent as a JSON array.
+ */
+@RestController
+@RequestMapping("/api/reactive/products")
+public class ReactiveProductController {
+
+    private final ReactiveProductService reactiveProductService;
+
+    public ReactiveProductController(ReactiveProductService reactiveProductService) {
+        this.reactiveProductService = reactiveProductService;
+    }
+
+    /**
+     * READ: Retrieves a page of products using keyset pagination on the product ID.
+     * HTTP Method: GET
+     * Endpoint: /api/reactive/products?cursor={lastId}&size={size}
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Product> getProducts(@RequestParam(required = false) Long cursor,
+                                     @RequestParam(required = false) Integer size) {
+        return reactiveProductService.findPage(cursor, size);
+    }
+
+    /**
+     * READ: Retrieves a single product by its ID.
+     * HTTP Method: GET
+     * Endpoint: /api/reactive/products/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<Product> getProductById(@PathVariable Long id) {
+        return reactiveProductService.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Product with ID " + id + " not found.")));
+    }
+
+    /**
+     * READ: Streams the products matching the query and price range.
+     * HTTP Method: GET
+     * Endpoint: /api/reactive/products/search?searchQuery={query}&minPrice={min}&maxPrice={max}
+     *
+     * @return The matches, or 400 Bad Request if a price bound is not a number.
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Flux<Product>> searchProducts(@RequestParam(required = false) String searchQuery,
+                                                        @RequestParam(required = false) Double minPrice,
+                                                        @RequestParam(required = false) Double maxPrice) {
+        if (isNaN(minPrice) || isNaN(maxPrice)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(reactiveProductService.searchProducts(searchQuery, minPrice, maxPrice));
+    }
+
+    private static boolean isNaN(Double price) {
+        return price != null && price.isNaN();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.catalog.product.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk update or delete, reported per chunk. Each chunk is written in its own transaction,
+ * so a failed chunk leaves the other chunks applied.
+ */
+@Data
+@NoArgsConstructor
+public class BulkOperationReport {
+    private long requested;
+    private long affected;
+    private List<ChunkResult> chunks = new ArrayList<>();
+
+    public void addChunk(ChunkResult chunk) {
+        chunks.add(chunk);
+        requested += chunk.requested();
+        affected += chunk.affected();
+    }
+
+    /**
+     * @param chunk The chunk number, starting at 1.
+     * @param requested The number of IDs in the chunk.
+     * @param affected The number of rows changed.
+     * @param notFound IDs that matched no product.
+     * @param error The failure message if the chunk was rolled back, otherwise null.
+     */
+    public record ChunkResult(int chunk, int requested, int affected, List<Long> notFound, String error) {
+    }
+}
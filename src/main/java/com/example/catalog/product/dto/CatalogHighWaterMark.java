@@ -0,0 +1,15 @@
+package com.example.catalog.product.dto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * How far the products table has been written: its row count and latest {@code updated_at}, or null if it is
+ * empty. Timestamps are compared at the microsecond precision the database keeps.
+ */
+public record CatalogHighWaterMark(long rows, LocalDateTime lastUpdatedAt) {
+
+    public CatalogHighWaterMark {
+        lastUpdatedAt = lastUpdatedAt == null ? null : lastUpdatedAt.truncatedTo(ChronoUnit.MICROS);
+    }
+}
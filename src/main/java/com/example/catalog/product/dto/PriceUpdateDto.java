@@ -0,0 +1,27 @@
+package com.example.catalog.product.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A new price for one product, as sent to the bulk price update endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdateDto {
+    @NotNull(message = "Product id is required.")
+    private Long id;
+
+    @NotNull(message = "Price is required.")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0.")
+    @Digits(integer = 15, fraction = 2,
+            message = "Price cannot have more than 15 digits before and 2 after the decimal point.")
+    private BigDecimal price;
+}
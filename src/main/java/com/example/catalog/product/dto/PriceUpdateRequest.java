@@ -0,0 +1,18 @@
+package com.example.catalog.product.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body of the bulk price update endpoint.
+ */
+@Data
+@NoArgsConstructor
+public class PriceUpdateRequest {
+    @NotEmpty(message = "At least one price update is required.")
+    private List<@Valid PriceUpdateDto> updates;
+}
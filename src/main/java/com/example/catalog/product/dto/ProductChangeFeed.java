@@ -0,0 +1,20 @@
+package com.example.catalog.product.dto;
+
+import com.example.catalog.product.changelog.ChangeEvent;
+
+import java.util.List;
+
+/**
+ * A batch of product changes read from the change log, oldest first.
+ *
+ * @param logId Identifies the log; if it differs from the previous response the log was rebuilt,
+ *              and the client must start again from version 0.
+ * @param version The version to pass as {@code since} on the next request.
+ * @param bootstrapped Whether the log starts with the whole catalog, so that replaying it from version 0
+ *                     yields every product.
+ * @param hasMore Whether more changes are already available after {@code version}.
+ * @param changes The changes after the requested version.
+ */
+public record ProductChangeFeed(String logId, long version, boolean bootstrapped, boolean hasMore,
+                                List<ChangeEvent> changes) {
+}
@@ -1,7 +1,9 @@
 package com.example.catalog.product.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,6 +25,9 @@ public class ProductDto {
     @Size(max = 1000, message = "Description cannot exceed 1000 characters.")
     private String description;
 
+    @NotNull(message = "Price is required.")
     @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0.")
+    @Digits(integer = 15, fraction = 2,
+            message = "Price cannot have more than 15 digits before and 2 after the decimal point.")
     private BigDecimal price;
 }
\ No newline at end of file
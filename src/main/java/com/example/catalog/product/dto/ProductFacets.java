@@ -0,0 +1,31 @@
+package com.example.catalog.product.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Facet counts over the products matching a search.
+ *
+ * @param total The number of matching products.
+ * @param price The matching products per price bucket, in ascending order.
+ * @param createdAt The matching products created within each configured period.
+ * @param updatedAt The matching products updated within each configured period.
+ */
+public record ProductFacets(long total, List<PriceBucket> price, List<DateRange> createdAt,
+                            List<DateRange> updatedAt) {
+
+    /**
+     * @param from The inclusive lower bound, or null for the first bucket.
+     * @param to The exclusive upper bound, or null for the last bucket.
+     */
+    public record PriceBucket(BigDecimal from, BigDecimal to, long count) {
+    }
+
+    /**
+     * @param within The period, as configured (e.g. {@code 7d}).
+     * @param since The start of the period at the time of the search.
+     */
+    public record DateRange(String within, LocalDateTime since, long count) {
+    }
+}
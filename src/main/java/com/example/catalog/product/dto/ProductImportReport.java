@@ -0,0 +1,42 @@
+package com.example.catalog.product.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import. Rows are numbered from 1 in input order.
+ * At most {@code MAX_REPORTED_ERRORS} row errors are listed; {@code failed} counts all of them.
+ */
+@Data
+@NoArgsConstructor
+public class ProductImportReport {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long received;
+    private long imported;
+    private long failed;
+    private int batches;
+    // Set when the input could not be parsed any further; rows after that point were not read
+    private String abortedReason;
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Counts one more input row and returns its row number.
+     */
+    public long nextRow() {
+        return ++received;
+    }
+
+    public void addError(long row, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    public record RowError(long row, String message) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.catalog.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A single page of products (entities or a projection) returned by keyset pagination.
+ * {@code nextCursor} is the ID to pass as {@code cursor} to fetch the following page,
+ * or {@code null} when there are no more products.
+ */
+@Data
+@AllArgsConstructor
+public class ProductPage<T> {
+    private List<T> content;
+    private Long nextCursor;
+}
@@ -0,0 +1,36 @@
+package com.example.catalog.product.dto;
+
+/**
+ * The orders a product search can be sorted in, by request parameter value ({@code sort=price|name|createdAt}).
+ * Ties are broken by ascending ID.
+ */
+public enum ProductSort {
+    PRICE("price"),
+    NAME("name"),
+    CREATED_AT("createdAt");
+
+    private final String attribute;
+
+    ProductSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * @return The {@code Product} attribute sorted on, which is also the request parameter value.
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * @return The sort named by the request parameter value (case-insensitive), or null if there is none.
+     */
+    public static ProductSort fromParameter(String value) {
+        for (ProductSort sort : values()) {
+            if (sort.attribute.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.catalog.product.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Lightweight read-only view of a product for list and search pages.
+ * Queries returning this projection select only these three columns.
+ */
+public record ProductSummary(Long id, String name, BigDecimal price) {
+}
@@ -11,9 +11,10 @@ import java.time.LocalDateTime;
 
 /**
  * JPA Entity class for the Product, mapping to the 'products' table.
+ * The price column is indexed so price-range searches can use an index range scan.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_price", columnList = "price"))
 @Data // Lombok annotation for getters, setters, toString, equals, and hashCode
 @NoArgsConstructor // Lombok annotation for a no-args constructor
 public class Product {
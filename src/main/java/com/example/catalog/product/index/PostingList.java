@@ -0,0 +1,64 @@
+package com.example.catalog.product.index;
+
+import java.util.Arrays;
+
+/**
+ * Sorted document IDs and term frequencies for one term, stored as parallel primitive arrays.
+ * Document IDs are assigned in increasing order, so appending keeps the list sorted.
+ */
+final class PostingList {
+
+    private int[] docs = new int[2];
+    private int[] freqs = new int[2];
+    private int size;
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int i) {
+        return docs[i];
+    }
+
+    int freq(int i) {
+        return freqs[i];
+    }
+
+    /**
+     * @return the position of {@code doc} in this list, or a negative value if absent.
+     */
+    int indexOf(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc);
+    }
+
+    /**
+     * Rewrites document IDs through {@code remap}, dropping documents mapped to -1. Order is preserved
+     * because the remapping is monotonic.
+     */
+    void remap(int[] remap) {
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            int mapped = remap[docs[i]];
+            if (mapped >= 0) {
+                docs[next] = mapped;
+                freqs[next] = freqs[i];
+                next++;
+            }
+        }
+        size = next;
+        if (size < docs.length / 4) {
+            docs = Arrays.copyOf(docs, Math.max(2, size));
+            freqs = Arrays.copyOf(freqs, Math.max(2, size));
+        }
+    }
+}
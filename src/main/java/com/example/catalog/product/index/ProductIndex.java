@@ -0,0 +1,29 @@
+package com.example.catalog.product.index;
+
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductChangeListener;
+
+/**
+ * An in-memory index over the product catalog.
+ * Indexes start cold, are filled by {@link ProductIndexWarmer} from a single pass over the products table
+ * (or the change log snapshot),
+ * and are kept up to date afterwards through the {@link ProductChangeListener} callbacks.
+ */
+public interface ProductIndex extends ProductChangeListener {
+
+    /**
+     * Adds a product read during warm-up, unless a live write for the same ID has already been applied.
+     * @param product The product read from the database or the change log snapshot.
+     */
+    void warm(Product product);
+
+    /**
+     * Marks the warm-up as complete; from now on the index answers queries.
+     */
+    void markReady();
+
+    /**
+     * @return true once the index holds the whole catalog.
+     */
+    boolean isReady();
+}
@@ -0,0 +1,139 @@
+package com.example.catalog.product.index;
+
+import com.example.catalog.common.startup.StartupWarmUp;
+import com.example.catalog.product.cache.SearchResultCache;
+import com.example.catalog.product.changelog.CatalogSnapshot;
+import com.example.catalog.product.changelog.ChangeLog;
+import com.example.catalog.product.dto.CatalogHighWaterMark;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fills every {@link ProductIndex} from one pass over the catalog once the application is up.
+ * If the {@link ChangeLog} was replayed on startup and its snapshot still has the table's high-water mark, the pass
+ * reads the {@link CatalogSnapshot}; otherwise it streams the products table and bootstraps the change log, a new
+ * one if the replayed log did not match, from the same rows.
+ * The warm-up runs on a background thread; until it finishes, callers fall back to the database.
+ * Setting {@code catalog.index.enabled=false} skips the indexes, so every query goes to the database;
+ * the table is then only scanned if the change log needs bootstrapping.
+ * Readiness waits for the warm-up to finish or fail ({@link StartupWarmUp}).
+ */
+@Component
+public class ProductIndexWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductIndexWarmer.class);
+    private static final String TASK = "product-indexes";
+    private final ProductService productService;
+    private final List<ProductIndex> indexes;
+    private final SearchResultCache searchResultCache;
+    private final ChangeLog changeLog;
+    private final CatalogSnapshot catalogSnapshot;
+    private final StartupWarmUp startupWarmUp;
+    private final boolean enabled;
+
+    public ProductIndexWarmer(ProductService productService, List<ProductIndex> indexes,
+                              SearchResultCache searchResultCache,
+                              ChangeLog changeLog, CatalogSnapshot catalogSnapshot, StartupWarmUp startupWarmUp,
+                              @Value("${catalog.index.enabled:true}") boolean enabled) {
+        this.productService = productService;
+        this.indexes = indexes;
+        this.searchResultCache = searchResultCache;
+        this.changeLog = changeLog;
+        this.catalogSnapshot = catalogSnapshot;
+        this.startupWarmUp = startupWarmUp;
+        this.enabled = enabled;
+        startupWarmUp.begin(TASK);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        if (!enabled) {
+            logger.info("In-memory product indexes are disabled");
+            if (!changeLog.isAvailable()) {
+                startupWarmUp.done(TASK);
+                return;
+            }
+        }
+        Thread.ofPlatform().name("product-index-warmer").daemon().start(() -> {
+            try {
+                warmUp();
+            } finally {
+                startupWarmUp.done(TASK);
+            }
+        });
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        long[] count = {0};
+        boolean fromSnapshot;
+        try {
+            fromSnapshot = catalogSnapshot.isReady() && snapshotMatchesTable();
+        } catch (Exception e) {
+            logger.error("Could not check the change log against the products table; searches keep using the database",
+                    e);
+            return;
+        }
+        if (!enabled && fromSnapshot) {
+            return;
+        }
+        Consumer<Product> warm = product -> {
+            if (enabled) {
+                for (ProductIndex index : indexes) {
+                    index.warm(product);
+                }
+            }
+            if (!fromSnapshot) {
+                changeLog.bootstrap(product);
+            }
+            count[0]++;
+        };
+        try {
+            if (fromSnapshot) {
+                catalogSnapshot.forEach(warm);
+            } else {
+                productService.forEachProduct(warm);
+            }
+        } catch (Exception e) {
+            logger.error("Product index warm-up failed; searches keep using the database", e);
+            return;
+        }
+        if (!fromSnapshot) {
+            changeLog.markBootstrapped();
+        }
+        if (enabled) {
+            indexes.forEach(ProductIndex::markReady);
+            // Searches are now ranked by the index, so earlier search responses are no longer current
+            searchResultCache.clear();
+        }
+        logger.info("Warmed {} product indexes with {} products from the {} in {} ms",
+                enabled ? indexes.size() : 0, count[0], fromSnapshot ? "change log snapshot" : "database",
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Compares the replayed snapshot with the products table, and starts a new change log if the table has changed
+     * behind the log's back: written by another instance, restored, or missing a write whose process died before
+     * appending it. A write committed during the check may also cause a mismatch; it only costs a bootstrap.
+     */
+    private boolean snapshotMatchesTable() {
+        CatalogHighWaterMark table = productService.highWaterMark();
+        CatalogHighWaterMark snapshot = catalogSnapshot.highWaterMark();
+        if (snapshot.equals(table)) {
+            return true;
+        }
+        logger.warn("The change log snapshot has {} but the products table has {}; bootstrapping a new change log",
+                snapshot, table);
+        changeLog.rebootstrap();
+        return false;
+    }
+}
@@ -0,0 +1,391 @@
+package com.example.catalog.product.index;
+
+import com.example.catalog.product.entity.Product;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory price index: product prices in minor units (cents) held in a primitive array sorted by
+ * (price, id), with a parallel array of product IDs. Range queries are two binary searches.
+ * <p>
+ * During warm-up only the ID-to-price map is filled; the sorted arrays are built once in {@link #markReady()}.
+ * After that every write patches the arrays in place.
+ */
+@Component
+public class ProductPriceIndex implements ProductIndex {
+
+    private static final int MINOR_UNIT_SCALE = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final WarmUpGuard warmUpGuard = new WarmUpGuard();
+    private final Map<Long, Long> priceById = new HashMap<>();
+    private long[] sortedPrices = new long[0];
+    private long[] sortedIds = new long[0];
+    private int size;
+
+    @Override
+    public void onProductSaved(Product product) {
+        lock.writeLock().lock();
+        try {
+            warmUpGuard.recordWrite(product.getId());
+            Long previous = priceById.put(product.getId(), toMinorUnits(product.getPrice()));
+            if (warmUpGuard.isReady()) {
+                if (previous != null) {
+                    removeSortedLocked(previous, product.getId());
+                }
+                insertSortedLocked(priceById.get(product.getId()), product.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductDeleted(Long id) {
+        lock.writeLock().lock();
+        try {
+            warmUpGuard.recordWrite(id);
+            Long previous = priceById.remove(id);
+            if (previous != null && warmUpGuard.isReady()) {
+                removeSortedLocked(previous, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void warm(Product product) {
+        lock.writeLock().lock();
+        try {
+            if (warmUpGuard.shouldWarm(product.getId())) {
+                priceById.put(product.getId(), toMinorUnits(product.getPrice()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            long[][] pairs = new long[priceById.size()][];
+            int i = 0;
+            for (Map.Entry<Long, Long> entry : priceById.entrySet()) {
+                pairs[i++] = new long[]{entry.getValue(), entry.getKey()};
+            }
+            Arrays.sort(pairs, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+            size = pairs.length;
+            sortedPrices = new long[Math.max(16, size)];
+            sortedIds = new long[Math.max(16, size)];
+            for (i = 0; i < size; i++) {
+                sortedPrices[i] = pairs[i][0];
+                sortedIds[i] = pairs[i][1];
+            }
+            warmUpGuard.markReady();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return warmUpGuard.isReady();
+    }
+
+    /**
+     * Finds every product whose price lies in the inclusive range.
+     *
+     * @param minPrice The lower bound, or null for none.
+     * @param maxPrice The upper bound, or null for none.
+     * @return The matching product IDs, cheapest first.
+     */
+    public long[] idsInRange(Double minPrice, Double maxPrice) {
+        return idsInRange(minPrice, maxPrice, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the {@code limit} cheapest products whose price lies in the inclusive range.
+     *
+     * @param minPrice The lower bound, or null for none.
+     * @param maxPrice The upper bound, or null for none.
+     * @param limit The maximum number of IDs to return.
+     * @return The matching product IDs, cheapest first.
+     */
+    public long[] cheapestInRange(Double minPrice, Double maxPrice, int limit) {
+        return idsInRange(minPrice, maxPrice, false, limit);
+    }
+
+    /**
+     * Finds the first {@code limit} products by price whose price lies in the inclusive range.
+     *
+     * @param minPrice The lower bound, or null for none.
+     * @param maxPrice The upper bound, or null for none.
+     * @param descending Whether the most expensive products come first.
+     * @param limit The maximum number of IDs to return.
+     * @return The matching product IDs, ordered by price and then by ascending ID.
+     */
+    public long[] idsInRange(Double minPrice, Double maxPrice, boolean descending, int limit) {
+        long min = lowerBound(minPrice);
+        long max = upperBound(maxPrice);
+        lock.readLock().lock();
+        try {
+            int from = firstIndexAtLeast(min);
+            int to = max == Long.MAX_VALUE ? size : firstIndexAtLeast(max + 1);
+            int count = Math.max(0, Math.min(to - from, limit));
+            if (!descending) {
+                return Arrays.copyOfRange(sortedIds, from, from + count);
+            }
+            // Walk down from the most expensive price, keeping ascending IDs within each price
+            long[] result = new long[count];
+            int filled = 0;
+            int end = to;
+            while (filled < count) {
+                int start = firstIndexAtLeast(sortedPrices[end - 1]);
+                for (int i = Math.max(start, from); i < end && filled < count; i++) {
+                    result[filled++] = sortedIds[i];
+                }
+                end = start;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Orders a set of products by price, keeping the first {@code limit} whose price lies in the inclusive range.
+     * Selection runs over a bounded heap of {@code limit} entries, so only those are ever held or sorted.
+     *
+     * @param ids The candidate product IDs; those not indexed are skipped.
+     * @param minPrice The lower bound, or null for none.
+     * @param maxPrice The upper bound, or null for none.
+     * @param descending Whether the most expensive products come first.
+     * @param limit The maximum number of IDs to return.
+     * @return The selected product IDs, ordered by price and then by ascending ID.
+     */
+    public long[] orderByPrice(long[] ids, Double minPrice, Double maxPrice, boolean descending, int limit) {
+        long min = lowerBound(minPrice);
+        long max = upperBound(maxPrice);
+        TopPrices top = new TopPrices(Math.max(0, Math.min(ids.length, limit)), descending);
+        lock.readLock().lock();
+        try {
+            for (long id : ids) {
+                Long price = priceById.get(id);
+                if (price != null && price >= min && price <= max) {
+                    top.offer(price, id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top.drainInOrder();
+    }
+
+    /**
+     * @return true if the product is indexed and its price lies in the inclusive range.
+     */
+    public boolean isInRange(long id, Double minPrice, Double maxPrice) {
+        lock.readLock().lock();
+        try {
+            Long price = priceById.get(id);
+            return price != null && price >= lowerBound(minPrice) && price <= upperBound(maxPrice);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Converts a stored price to minor units. The DTOs keep prices well within a long, but a price beyond it, as
+     * written by other means, is clamped rather than failing the write that notifies the index.
+     */
+    static long toMinorUnits(BigDecimal price) {
+        return clamp(price.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue());
+    }
+
+    private static long lowerBound(Double minPrice) {
+        return minPrice == null ? Long.MIN_VALUE : toMinorUnitsBound(minPrice, RoundingMode.CEILING);
+    }
+
+    private static long upperBound(Double maxPrice) {
+        return maxPrice == null ? Long.MAX_VALUE : toMinorUnitsBound(maxPrice, RoundingMode.FLOOR);
+    }
+
+    /**
+     * Converts a range bound to minor units. Bounds beyond what a long holds, including infinities, are clamped,
+     * so they still compare correctly with every indexed price.
+     *
+     * @throws IllegalArgumentException if the bound is NaN.
+     */
+    static long toMinorUnitsBound(double price, RoundingMode rounding) {
+        if (Double.isNaN(price)) {
+            throw new IllegalArgumentException("A price bound must be a number");
+        }
+        if (Double.isInfinite(price)) {
+            return price > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return clamp(BigDecimal.valueOf(price).setScale(MINOR_UNIT_SCALE, rounding).unscaledValue());
+    }
+
+    private static long clamp(BigInteger minorUnits) {
+        if (minorUnits.bitLength() > Long.SIZE - 1) {
+            return minorUnits.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return minorUnits.longValue();
+    }
+
+    /**
+     * @return the first position whose price is greater than or equal to {@code price}.
+     */
+    private int firstIndexAtLeast(long price) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the position of (price, id), or the insertion point if absent.
+     */
+    private int positionOf(long price, long id) {
+        int low = firstIndexAtLeast(price);
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < price || (sortedPrices[mid] == price && sortedIds[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insertSortedLocked(long price, long id) {
+        if (size == sortedPrices.length) {
+            int capacity = Math.max(16, size * 2);
+            sortedPrices = Arrays.copyOf(sortedPrices, capacity);
+            sortedIds = Arrays.copyOf(sortedIds, capacity);
+        }
+        int pos = positionOf(price, id);
+        System.arraycopy(sortedPrices, pos, sortedPrices, pos + 1, size - pos);
+        System.arraycopy(sortedIds, pos, sortedIds, pos + 1, size - pos);
+        sortedPrices[pos] = price;
+        sortedIds[pos] = id;
+        size++;
+    }
+
+    private void removeSortedLocked(long price, long id) {
+        int pos = positionOf(price, id);
+        if (pos < size && sortedPrices[pos] == price && sortedIds[pos] == id) {
+            System.arraycopy(sortedPrices, pos + 1, sortedPrices, pos, size - pos - 1);
+            System.arraycopy(sortedIds, pos + 1, sortedIds, pos, size - pos - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Bounded binary heap of (price, id) pairs whose root is the last one in the requested order, so a candidate
+     * either replaces the root or is dropped.
+     */
+    private static final class TopPrices {
+        private final long[] prices;
+        private final long[] ids;
+        private final boolean descending;
+        private int size;
+
+        TopPrices(int capacity, boolean descending) {
+            this.prices = new long[capacity];
+            this.ids = new long[capacity];
+            this.descending = descending;
+        }
+
+        void offer(long price, long id) {
+            if (size < prices.length) {
+                prices[size] = price;
+                ids[size] = id;
+                siftUp(size++);
+            } else if (size > 0 && comesBefore(price, id, prices[0], ids[0])) {
+                prices[0] = price;
+                ids[0] = id;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Empties the heap.
+         *
+         * @return The IDs in the requested order.
+         */
+        long[] drainInOrder() {
+            long[] result = new long[size];
+            while (size > 0) {
+                result[size - 1] = ids[0];
+                size--;
+                prices[0] = prices[size];
+                ids[0] = ids[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private boolean comesBefore(long priceA, long idA, long priceB, long idB) {
+            if (priceA != priceB) {
+                return descending ? priceA > priceB : priceA < priceB;
+            }
+            return idA < idB;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!comesBefore(prices[parent], ids[parent], prices[i], ids[i])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int last = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (comesBefore(prices[last], ids[last], prices[child], ids[child])) {
+                        last = child;
+                    }
+                }
+                if (last == i) {
+                    return;
+                }
+                swap(i, last);
+                i = last;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long price = prices[a];
+            prices[a] = prices[b];
+            prices[b] = price;
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+}
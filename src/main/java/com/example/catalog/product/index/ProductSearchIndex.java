@@ -0,0 +1,231 @@
+package com.example.catalog.product.index;
+
+import com.example.catalog.product.entity.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name and description, ranked with BM25.
+ * <p>
+ * Every indexed product gets an internal document ID. An update assigns a new document ID and marks the old
+ * one deleted, so posting lists only ever grow at the tail and stay sorted. Deleted documents are purged by
+ * compaction once they outnumber the live ones. Document frequencies include deleted documents until the
+ * next compaction, as in Lucene.
+ */
+@Component
+public class ProductSearchIndex implements ProductIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_BOOST = 2;
+    private static final int MIN_COMPACTION_DOCS = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final WarmUpGuard warmUpGuard = new WarmUpGuard();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByProductId = new HashMap<>();
+    private final BitSet deletedDocs = new BitSet();
+    private long[] productIdByDoc = new long[MIN_COMPACTION_DOCS];
+    private int[] docLength = new int[MIN_COMPACTION_DOCS];
+    private int docCount;
+    private int liveDocCount;
+    private long totalLength;
+
+    @Override
+    public void onProductSaved(Product product) {
+        lock.writeLock().lock();
+        try {
+            warmUpGuard.recordWrite(product.getId());
+            indexLocked(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductDeleted(Long id) {
+        lock.writeLock().lock();
+        try {
+            warmUpGuard.recordWrite(id);
+            removeLocked(id);
+            maybeCompactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void warm(Product product) {
+        lock.writeLock().lock();
+        try {
+            if (warmUpGuard.shouldWarm(product.getId())) {
+                indexLocked(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        warmUpGuard.markReady();
+    }
+
+    @Override
+    public boolean isReady() {
+        return warmUpGuard.isReady();
+    }
+
+    /**
+     * Finds the products containing every term of the query, best BM25 match first.
+     *
+     * @param query The free-text query.
+     * @return The matching product IDs ordered by descending score; empty if the query has no terms.
+     */
+    public long[] search(String query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[terms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(terms.get(i));
+                if (lists[i] == null) {
+                    return new long[0];
+                }
+            }
+            // Drive the intersection from the rarest term
+            Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = Math.log(1 + (liveDocCount - lists[i].size() + 0.5) / (lists[i].size() + 0.5));
+            }
+            double avgLength = liveDocCount == 0 ? 1 : (double) totalLength / liveDocCount;
+
+            PostingList driver = lists[0];
+            int[] matchDocs = new int[driver.size()];
+            double[] matchScores = new double[driver.size()];
+            int matches = 0;
+            candidates:
+            for (int p = 0; p < driver.size(); p++) {
+                int doc = driver.doc(p);
+                if (deletedDocs.get(doc)) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * docLength[doc] / avgLength);
+                double score = idf[0] * bm25(driver.freq(p), norm);
+                for (int i = 1; i < lists.length; i++) {
+                    int pos = lists[i].indexOf(doc);
+                    if (pos < 0) {
+                        continue candidates;
+                    }
+                    score += idf[i] * bm25(lists[i].freq(pos), norm);
+                }
+                matchDocs[matches] = doc;
+                matchScores[matches] = score;
+                matches++;
+            }
+
+            Integer[] order = new Integer[matches];
+            for (int i = 0; i < matches; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(matchScores[b], matchScores[a]));
+            long[] result = new long[matches];
+            for (int i = 0; i < matches; i++) {
+                result[i] = productIdByDoc[matchDocs[order[i]]];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double bm25(int freq, double norm) {
+        return freq * (K1 + 1) / (freq + norm);
+    }
+
+    private void indexLocked(Product product) {
+        removeLocked(product.getId());
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : TextAnalyzer.tokenize(product.getName())) {
+            frequencies.merge(term, NAME_BOOST, Integer::sum);
+            length++;
+        }
+        for (String term : TextAnalyzer.tokenize(product.getDescription())) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        int doc = docCount++;
+        if (doc == productIdByDoc.length) {
+            productIdByDoc = Arrays.copyOf(productIdByDoc, doc * 2);
+            docLength = Arrays.copyOf(docLength, doc * 2);
+        }
+        productIdByDoc[doc] = product.getId();
+        docLength[doc] = length;
+        docByProductId.put(product.getId(), doc);
+        liveDocCount++;
+        totalLength += length;
+        frequencies.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new PostingList()).add(doc, freq));
+
+        maybeCompactLocked();
+    }
+
+    private void removeLocked(Long productId) {
+        Integer doc = docByProductId.remove(productId);
+        if (doc != null) {
+            deletedDocs.set(doc);
+            liveDocCount--;
+            totalLength -= docLength[doc];
+        }
+    }
+
+    /**
+     * Renumbers live documents densely and drops deleted ones from every posting list.
+     */
+    private void maybeCompactLocked() {
+        int deletedCount = docCount - liveDocCount;
+        if (docCount < MIN_COMPACTION_DOCS || deletedCount <= liveDocCount) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deletedDocs.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                productIdByDoc[next] = productIdByDoc[doc];
+                docLength[next] = docLength[doc];
+                next++;
+            }
+        }
+        Iterator<PostingList> it = postings.values().iterator();
+        while (it.hasNext()) {
+            PostingList list = it.next();
+            list.remap(remap);
+            if (list.size() == 0) {
+                it.remove();
+            }
+        }
+        docByProductId.replaceAll((id, doc) -> remap[doc]);
+        deletedDocs.clear();
+        docCount = next;
+    }
+}
@@ -0,0 +1,560 @@
+package com.example.catalog.product.index;
+
+import com.example.catalog.product.dto.ProductSummary;
+import com.example.catalog.product.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory autocomplete index over product names: a compact (radix) trie whose keys are the name from each word
+ * start, so both "desk la" and "la" find "Desk Lamp". Suggestions are ranked cheapest first.
+ * <p>
+ * Nodes live in parallel primitive arrays, and their edge labels are slices of one shared char array, so a prefix
+ * shared by many names is stored once. Each key is an entry in a per-node list. Nodes with more than
+ * {@value #CACHE_MIN_ENTRIES} entries below them keep their top {@code catalog.suggest.max-results} entries,
+ * patched on every write, so short prefixes never walk their subtree; smaller subtrees are walked per query.
+ * Removed keys leave their nodes and label chars behind for reuse; the trie is rebuilt once the nodes outnumber
+ * twice the live keys.
+ */
+@Component
+public class ProductSuggestIndex implements ProductIndex {
+
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int CACHE_MIN_ENTRIES = 64;
+    private static final int MIN_REBUILD_NODES = 4096;
+    private static final int NONE = -1;
+    private static final int ROOT = 0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final WarmUpGuard warmUpGuard = new WarmUpGuard();
+    private final int maxResults;
+    private final Map<Long, ProductSummary> products = new HashMap<>();
+    private final Map<Long, int[]> entriesByProduct = new HashMap<>();
+
+    // Nodes; the root has an empty label
+    private char[] labels;
+    private int labelsSize;
+    private int[] labelStart;
+    private int[] labelLength;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] parent;
+    private int[] firstEntry;
+    private int[] subtreeEntries;
+    // Top entries of large subtrees, best first; replaced rather than modified, so they can be shared on a split
+    private int[][] topEntries;
+    private int nodeCount;
+
+    // Entries: one per key, linked per node; freed entries are reused
+    private long[] entryProductId;
+    private long[] entryPrice;
+    private int[] entryNode;
+    private int[] nextEntry;
+    private int[] previousEntry;
+    private int entryCount;
+    private int freeEntries = NONE;
+    private int liveEntries;
+
+    public ProductSuggestIndex(@Value("${catalog.suggest.max-results:10}") int maxResults) {
+        this.maxResults = maxResults;
+        clear();
+    }
+
+    /**
+     * @return The maximum number of suggestions returned for one prefix.
+     */
+    public int maxResults() {
+        return maxResults;
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        lock.writeLock().lock();
+        try {
+            warmUpGuard.recordWrite(product.getId());
+            removeLocked(product.getId());
+            addLocked(new ProductSummary(product.getId(), product.getName(), product.getPrice()));
+            maybeRebuildLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductDeleted(Long id) {
+        lock.writeLock().lock();
+        try {
+            warmUpGuard.recordWrite(id);
+            removeLocked(id);
+            maybeRebuildLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void warm(Product product) {
+        lock.writeLock().lock();
+        try {
+            if (warmUpGuard.shouldWarm(product.getId())) {
+                removeLocked(product.getId());
+                addLocked(new ProductSummary(product.getId(), product.getName(), product.getPrice()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        warmUpGuard.markReady();
+    }
+
+    @Override
+    public boolean isReady() {
+        return warmUpGuard.isReady();
+    }
+
+    /**
+     * Finds the products with a word in their name starting with {@code prefix}, ignoring case and punctuation.
+     *
+     * @param prefix The text typed so far; a trailing space only matches complete words.
+     * @param limit The maximum number of suggestions; capped at {@link #maxResults()}.
+     * @return The matching products, cheapest first.
+     */
+    public List<ProductSummary> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int node = locate(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+            if (node == NONE || subtreeEntries[node] == 0) {
+                return List.of();
+            }
+            int[] top = topEntries[node] != null ? topEntries[node] : computeTop(node);
+            int size = Math.max(0, Math.min(top.length, Math.min(limit, maxResults)));
+            List<ProductSummary> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(products.get(entryProductId[top[i]]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(ProductSummary product) {
+        Set<String> keys = keys(product.name());
+        if (keys.isEmpty()) {
+            return;
+        }
+        products.put(product.id(), product);
+        long price = ProductPriceIndex.toMinorUnits(product.price());
+        int[] entries = new int[keys.size()];
+        int k = 0;
+        for (String key : keys) {
+            int node = insertKey(key);
+            int entry = newEntry(product.id(), price, node);
+            entries[k++] = entry;
+            for (int n = node; n != NONE; n = parent[n]) {
+                subtreeEntries[n]++;
+                if (subtreeEntries[n] > CACHE_MIN_ENTRIES) {
+                    topEntries[n] = topEntries[n] == null ? computeTop(n) : withEntry(topEntries[n], entry);
+                }
+            }
+        }
+        entriesByProduct.put(product.id(), entries);
+    }
+
+    private void removeLocked(Long id) {
+        int[] entries = entriesByProduct.remove(id);
+        products.remove(id);
+        if (entries == null) {
+            return;
+        }
+        for (int entry : entries) {
+            int node = entryNode[entry];
+            unlinkEntry(node, entry);
+            for (int n = node; n != NONE; n = parent[n]) {
+                subtreeEntries[n]--;
+                if (topEntries[n] == null) {
+                    continue;
+                }
+                if (subtreeEntries[n] <= CACHE_MIN_ENTRIES) {
+                    topEntries[n] = null;
+                } else if (contains(topEntries[n], entry)) {
+                    topEntries[n] = computeTop(n);
+                }
+            }
+        }
+    }
+
+    private void maybeRebuildLocked() {
+        if (nodeCount < MIN_REBUILD_NODES || nodeCount <= 2 * liveEntries) {
+            return;
+        }
+        List<ProductSummary> live = new ArrayList<>(products.values());
+        products.clear();
+        entriesByProduct.clear();
+        clear();
+        live.forEach(this::addLocked);
+    }
+
+    /**
+     * @return The node the key ends in, creating and splitting nodes as needed.
+     */
+    private int insertKey(String key) {
+        int node = ROOT;
+        int i = 0;
+        while (i < key.length()) {
+            int child = findChild(node, key.charAt(i));
+            if (child == NONE) {
+                return newNode(node, key, i);
+            }
+            int matched = 1;
+            while (matched < labelLength[child] && i + matched < key.length()
+                    && labels[labelStart[child] + matched] == key.charAt(i + matched)) {
+                matched++;
+            }
+            if (matched < labelLength[child]) {
+                child = split(child, matched);
+            }
+            node = child;
+            i += matched;
+        }
+        return node;
+    }
+
+    /**
+     * @return The node whose path starts with the key (the key may end inside its label), or NONE.
+     */
+    private int locate(String key) {
+        int node = ROOT;
+        int i = 0;
+        while (i < key.length()) {
+            int child = findChild(node, key.charAt(i));
+            if (child == NONE) {
+                return NONE;
+            }
+            for (int j = 1; j < labelLength[child] && i + j < key.length(); j++) {
+                if (labels[labelStart[child] + j] != key.charAt(i + j)) {
+                    return NONE;
+                }
+            }
+            node = child;
+            i += labelLength[child];
+        }
+        return node;
+    }
+
+    private int findChild(int node, char first) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (labels[labelStart[child]] == first) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    private int newNode(int parentNode, String key, int from) {
+        int length = key.length() - from;
+        if (labelsSize + length > labels.length) {
+            labels = Arrays.copyOf(labels, Math.max(labels.length * 2, labelsSize + length));
+        }
+        key.getChars(from, key.length(), labels, labelsSize);
+        int node = allocateNode(labelsSize, length, parentNode);
+        labelsSize += length;
+        nextSibling[node] = firstChild[parentNode];
+        firstChild[parentNode] = node;
+        return node;
+    }
+
+    /**
+     * Splits {@code node}'s label after {@code at} chars: a new node takes the head and its place in the tree,
+     * and {@code node} becomes its only child. Both cover the same entries, so the top entries are shared.
+     */
+    private int split(int node, int at) {
+        int head = allocateNode(labelStart[node], at, parent[node]);
+        subtreeEntries[head] = subtreeEntries[node];
+        topEntries[head] = topEntries[node];
+        if (firstChild[parent[node]] == node) {
+            firstChild[parent[node]] = head;
+        } else {
+            int sibling = firstChild[parent[node]];
+            while (nextSibling[sibling] != node) {
+                sibling = nextSibling[sibling];
+            }
+            nextSibling[sibling] = head;
+        }
+        nextSibling[head] = nextSibling[node];
+        firstChild[head] = node;
+        nextSibling[node] = NONE;
+        parent[node] = head;
+        labelStart[node] += at;
+        labelLength[node] -= at;
+        return head;
+    }
+
+    private int allocateNode(int start, int length, int parentNode) {
+        if (nodeCount == labelStart.length) {
+            int capacity = labelStart.length * 2;
+            labelStart = Arrays.copyOf(labelStart, capacity);
+            labelLength = Arrays.copyOf(labelLength, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            firstEntry = Arrays.copyOf(firstEntry, capacity);
+            subtreeEntries = Arrays.copyOf(subtreeEntries, capacity);
+            topEntries = Arrays.copyOf(topEntries, capacity);
+        }
+        int node = nodeCount++;
+        labelStart[node] = start;
+        labelLength[node] = length;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        parent[node] = parentNode;
+        firstEntry[node] = NONE;
+        subtreeEntries[node] = 0;
+        topEntries[node] = null;
+        return node;
+    }
+
+    private int newEntry(long productId, long price, int node) {
+        int entry;
+        if (freeEntries != NONE) {
+            entry = freeEntries;
+            freeEntries = nextEntry[entry];
+        } else {
+            if (entryCount == entryProductId.length) {
+                int capacity = entryProductId.length * 2;
+                entryProductId = Arrays.copyOf(entryProductId, capacity);
+                entryPrice = Arrays.copyOf(entryPrice, capacity);
+                entryNode = Arrays.copyOf(entryNode, capacity);
+                nextEntry = Arrays.copyOf(nextEntry, capacity);
+                previousEntry = Arrays.copyOf(previousEntry, capacity);
+            }
+            entry = entryCount++;
+        }
+        entryProductId[entry] = productId;
+        entryPrice[entry] = price;
+        entryNode[entry] = node;
+        nextEntry[entry] = firstEntry[node];
+        previousEntry[entry] = NONE;
+        if (firstEntry[node] != NONE) {
+            previousEntry[firstEntry[node]] = entry;
+        }
+        firstEntry[node] = entry;
+        liveEntries++;
+        return entry;
+    }
+
+    private void unlinkEntry(int node, int entry) {
+        if (previousEntry[entry] == NONE) {
+            firstEntry[node] = nextEntry[entry];
+        } else {
+            nextEntry[previousEntry[entry]] = nextEntry[entry];
+        }
+        if (nextEntry[entry] != NONE) {
+            previousEntry[nextEntry[entry]] = previousEntry[entry];
+        }
+        nextEntry[entry] = freeEntries;
+        freeEntries = entry;
+        liveEntries--;
+    }
+
+    /**
+     * @return The best entries of the node's subtree, one per product, from its own entries and each child's
+     *         top entries (or, for a small child, all of its entries).
+     */
+    private int[] computeTop(int node) {
+        TopEntries top = new TopEntries(maxResults);
+        offerOwn(node, top);
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (subtreeEntries[child] == 0) {
+                continue;
+            }
+            int[] childTop = topEntries[child];
+            if (childTop != null) {
+                for (int entry : childTop) {
+                    top.offer(entry);
+                }
+            } else {
+                offerSubtree(child, top);
+            }
+        }
+        return Arrays.copyOf(top.entries, top.size);
+    }
+
+    private void offerOwn(int node, TopEntries top) {
+        for (int entry = firstEntry[node]; entry != NONE; entry = nextEntry[entry]) {
+            top.offer(entry);
+        }
+    }
+
+    private void offerSubtree(int node, TopEntries top) {
+        offerOwn(node, top);
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (subtreeEntries[child] > 0) {
+                offerSubtree(child, top);
+            }
+        }
+    }
+
+    /**
+     * @return The top entries with {@code entry} inserted in rank order, or the same array if it does not
+     *         qualify or its product is already listed.
+     */
+    private int[] withEntry(int[] top, int entry) {
+        if (containsProduct(top, top.length, entryProductId[entry])) {
+            return top;
+        }
+        int pos = top.length;
+        while (pos > 0 && compare(entry, top[pos - 1]) < 0) {
+            pos--;
+        }
+        if (pos >= maxResults) {
+            return top;
+        }
+        int[] updated = new int[Math.min(top.length + 1, maxResults)];
+        System.arraycopy(top, 0, updated, 0, pos);
+        updated[pos] = entry;
+        System.arraycopy(top, pos, updated, pos + 1, updated.length - pos - 1);
+        return updated;
+    }
+
+    private int compare(int a, int b) {
+        int byPrice = Long.compare(entryPrice[a], entryPrice[b]);
+        return byPrice != 0 ? byPrice : Long.compare(entryProductId[a], entryProductId[b]);
+    }
+
+    private boolean containsProduct(int[] top, int size, long productId) {
+        for (int i = 0; i < size; i++) {
+            if (entryProductId[top[i]] == productId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int[] top, int entry) {
+        for (int candidate : top) {
+            if (candidate == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void clear() {
+        int nodes = 1024;
+        labels = new char[nodes * 8];
+        labelsSize = 0;
+        labelStart = new int[nodes];
+        labelLength = new int[nodes];
+        firstChild = new int[nodes];
+        nextSibling = new int[nodes];
+        parent = new int[nodes];
+        firstEntry = new int[nodes];
+        subtreeEntries = new int[nodes];
+        topEntries = new int[nodes][];
+        nodeCount = 0;
+        allocateNode(0, 0, NONE);
+        entryProductId = new long[nodes];
+        entryPrice = new long[nodes];
+        entryNode = new int[nodes];
+        nextEntry = new int[nodes];
+        previousEntry = new int[nodes];
+        entryCount = 0;
+        freeEntries = NONE;
+        liveEntries = 0;
+    }
+
+    /**
+     * @return The keys of a name: the normalized name from each word start, truncated to MAX_KEY_LENGTH chars.
+     *         The name ends with a space, so a prefix ending in a complete word matches it too.
+     */
+    static Set<String> keys(String name) {
+        String normalized = normalize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        if (normalized.charAt(normalized.length() - 1) != ' ') {
+            normalized += ' ';
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i, Math.min(normalized.length(), i + MAX_KEY_LENGTH)));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Lowercases the text and turns every run of characters that are not letters or digits into one space
+     * (dropped at the start).
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean separator = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                separator = false;
+                normalized.append(c);
+            } else {
+                separator = true;
+            }
+        }
+        if (separator && !normalized.isEmpty()) {
+            normalized.append(' ');
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The best entries seen so far, one per product, in rank order.
+     */
+    private final class TopEntries {
+        private final int[] entries;
+        private int size;
+
+        TopEntries(int capacity) {
+            entries = new int[capacity];
+        }
+
+        void offer(int entry) {
+            if (entries.length == 0 || size == entries.length && compare(entry, entries[size - 1]) >= 0) {
+                return;
+            }
+            if (containsProduct(entries, size, entryProductId[entry])) {
+                return;
+            }
+            int pos = size == entries.length ? size - 1 : size++;
+            while (pos > 0 && compare(entry, entries[pos - 1]) < 0) {
+                entries[pos] = entries[pos - 1];
+                pos--;
+            }
+            entries[pos] = entry;
+        }
+    }
+}
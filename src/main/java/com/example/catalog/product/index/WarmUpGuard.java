@@ -0,0 +1,33 @@
+package com.example.catalog.product.index;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks product IDs written while an index is warming up, so that a stale row read by the warm-up scan
+ * never overwrites (or resurrects) a newer live write. Callers must hold the index's write lock.
+ */
+final class WarmUpGuard {
+
+    private final Set<Long> writtenDuringWarmUp = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    void recordWrite(Long id) {
+        if (!ready) {
+            writtenDuringWarmUp.add(id);
+        }
+    }
+
+    boolean shouldWarm(Long id) {
+        return !ready && !writtenDuringWarmUp.contains(id);
+    }
+
+    void markReady() {
+        ready = true;
+        writtenDuringWarmUp.clear();
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.catalog.product.json;
+
+import com.example.catalog.product.cache.ProductJsonCache;
+import com.example.catalog.product.entity.Product;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Hand-written Jackson serializer for {@link Product}, producing the same JSON as the default bean serializer.
+ * <p>
+ * Field names are pre-encoded, and prices and timestamps are formatted straight into a char buffer instead of
+ * going through {@code BigDecimal.toString()} and {@code DateTimeFormatter}. The encoded JSON of each product
+ * version is kept in {@link ProductJsonCache} and copied to the output as raw bytes on later responses.
+ * When dates are written as timestamps, or a pretty printer or custom escapes are configured, the fields are
+ * written individually without the cache.
+ */
+@JsonComponent
+public class ProductJsonSerializer extends StdSerializer<Product> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    // Longest output of formatDecimal (26 chars: sign, up to 24 digits, point) and formatDateTime (29 chars)
+    private static final int BUFFER_SIZE = 32;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ProductJsonCache jsonCache;
+
+    public ProductJsonSerializer(ProductJsonCache jsonCache) {
+        super(Product.class);
+        this.jsonCache = jsonCache;
+    }
+
+    @Override
+    public void serialize(Product product, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        boolean datesAsTimestamps = provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (datesAsTimestamps || !jsonCache.isEnabled() || product.getId() == null || product.getUpdatedAt() == null
+                || gen.getPrettyPrinter() != null || gen.getCharacterEscapes() != null) {
+            writeObject(product, gen, provider, datesAsTimestamps);
+            return;
+        }
+        SerializableString json = jsonCache.get(product.getId(), product.getUpdatedAt());
+        if (json == null) {
+            json = encode(product, provider);
+            jsonCache.put(product.getId(), product.getUpdatedAt(), json);
+        }
+        gen.writeRawValue(json);
+    }
+
+    private SerializableString encode(Product product, SerializerProvider provider) throws IOException {
+        try (ByteArrayBuilder bytes = new ByteArrayBuilder();
+             JsonGenerator gen = jsonFactory.createGenerator(bytes)) {
+            writeObject(product, gen, provider, false);
+            gen.flush();
+            SerializedString json = new SerializedString(new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+            // Encode to UTF-8 once now rather than on the first raw write
+            json.asUnquotedUTF8();
+            return json;
+        }
+    }
+
+    private void writeObject(Product product, JsonGenerator gen, SerializerProvider provider,
+                             boolean datesAsTimestamps) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        gen.writeStartObject(product);
+        gen.writeFieldName(ID);
+        if (product.getId() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(product.getId());
+        }
+        gen.writeFieldName(NAME);
+        gen.writeString(product.getName());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(product.getDescription());
+        gen.writeFieldName(PRICE);
+        writeDecimal(product.getPrice(), gen, buffer);
+        gen.writeFieldName(CREATED_AT);
+        writeDateTime(product.getCreatedAt(), gen, provider, datesAsTimestamps, buffer);
+        gen.writeFieldName(UPDATED_AT);
+        writeDateTime(product.getUpdatedAt(), gen, provider, datesAsTimestamps, buffer);
+        gen.writeEndObject();
+    }
+
+    private static void writeDecimal(BigDecimal value, JsonGenerator gen, char[] buffer) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int length = formatDecimal(value, buffer);
+        if (length < 0) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeNumber(buffer, 0, length);
+        }
+    }
+
+    private static void writeDateTime(LocalDateTime value, JsonGenerator gen, SerializerProvider provider,
+                                      boolean datesAsTimestamps, char[] buffer) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int length = datesAsTimestamps ? -1 : formatDateTime(value, buffer);
+        if (length < 0) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeString(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Writes {@code value} in plain notation, as {@link BigDecimal#toString()} would for the values it handles.
+     *
+     * @return The number of chars written, or -1 if the value is outside the fast path
+     *         (more than 18 digits, a negative scale, or small enough for {@code toString()} to use an exponent).
+     */
+    static int formatDecimal(BigDecimal value, char[] buffer) {
+        int scale = value.scale();
+        int precision = value.precision();
+        if (scale < 0 || precision > 18 || precision - scale - 1 < -6) {
+            return -1;
+        }
+        long unscaled = value.unscaledValue().longValue();
+        int pos = 0;
+        if (unscaled < 0) {
+            buffer[pos++] = '-';
+            unscaled = -unscaled;
+        }
+        // At least one digit before the point
+        int digits = Math.max(precision, scale + 1);
+        int end = pos + digits + (scale > 0 ? 1 : 0);
+        int i = end;
+        for (int d = 0; d < digits; d++) {
+            if (d == scale && scale > 0) {
+                buffer[--i] = '.';
+            }
+            buffer[--i] = (char) ('0' + unscaled % 10);
+            unscaled /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * Writes {@code value} as {@code DateTimeFormatter.ISO_LOCAL_DATE_TIME} would: seconds always,
+     * and the fraction only if non-zero, without trailing zeros.
+     *
+     * @return The number of chars written, or -1 for years outside 0000-9999.
+     */
+    static int formatDateTime(LocalDateTime value, char[] buffer) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        int pos = 0;
+        pos = writeDigits(year, 4, buffer, pos);
+        buffer[pos++] = '-';
+        pos = writeDigits(value.getMonthValue(), 2, buffer, pos);
+        buffer[pos++] = '-';
+        pos = writeDigits(value.getDayOfMonth(), 2, buffer, pos);
+        buffer[pos++] = 'T';
+        pos = writeDigits(value.getHour(), 2, buffer, pos);
+        buffer[pos++] = ':';
+        pos = writeDigits(value.getMinute(), 2, buffer, pos);
+        buffer[pos++] = ':';
+        pos = writeDigits(value.getSecond(), 2, buffer, pos);
+        int nano = value.getNano();
+        if (nano > 0) {
+            int fractionDigits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                fractionDigits--;
+            }
+            buffer[pos++] = '.';
+            pos = writeDigits(nano, fractionDigits, buffer, pos);
+        }
+        return pos;
+    }
+
+    private static int writeDigits(int value, int width, char[] buffer, int pos) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
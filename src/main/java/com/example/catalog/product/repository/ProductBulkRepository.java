@@ -0,0 +1,121 @@
+package com.example.catalog.product.repository;
+
+import com.example.catalog.product.dto.PriceUpdateDto;
+import com.example.catalog.product.entity.Product;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based JDBC writes for the products table that bypass the JPA persistence context.
+ * Used by bulk endpoints, where per-entity {@code save} would cost one round trip per row.
+ */
+@Repository
+public class ProductBulkRepository {
+
+    private static final String INSERT_SQL =
+            "insert into products (name, description, price, created_at, updated_at) values (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+            "update products set name = ?, description = ?, price = ?, updated_at = ? where id = ?";
+
+    private static final String UPDATE_PRICE_SQL = "update products set price = ?, updated_at = ? where id = ?";
+
+    private static final String DELETE_SQL = "delete from products where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the products as one JDBC batch in its own transaction and fills in their generated IDs
+     * and timestamps.
+     *
+     * @param products New products without IDs.
+     */
+    @Transactional
+    public void insertAll(List<Product> products) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Timestamp timestamp = Timestamp.valueOf(now);
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Product product = products.get(i);
+                        ps.setString(1, product.getName());
+                        ps.setString(2, product.getDescription());
+                        ps.setBigDecimal(3, product.getPrice());
+                        ps.setTimestamp(4, timestamp);
+                        ps.setTimestamp(5, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return products.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            product.setId(((Number) keys.get(i).get("id")).longValue());
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
+        }
+    }
+
+    /**
+     * Overwrites the name, description, price and {@code updatedAt} of existing products as one JDBC batch
+     * in its own transaction.
+     *
+     * @param products The products with their IDs and new values.
+     * @return The number of rows changed by each update, in input order.
+     */
+    @Transactional
+    public int[] updateAll(List<Product> products) {
+        return jdbcTemplate.batchUpdate(UPDATE_SQL, products.stream()
+                .map(product -> new Object[]{product.getName(), product.getDescription(), product.getPrice(),
+                        Timestamp.valueOf(product.getUpdatedAt()), product.getId()})
+                .toList());
+    }
+
+    /**
+     * Updates the prices as one JDBC batch in its own transaction.
+     *
+     * @param updates The product IDs and their new prices.
+     * @return The number of rows changed by each update, in input order.
+     */
+    @Transactional
+    public int[] updatePrices(List<PriceUpdateDto> updates) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        return jdbcTemplate.batchUpdate(UPDATE_PRICE_SQL, updates.stream()
+                .map(update -> new Object[]{update.getPrice(), now, update.getId()})
+                .toList());
+    }
+
+    /**
+     * Deletes the products as one JDBC batch in its own transaction.
+     *
+     * @param ids The product IDs.
+     * @return The number of rows deleted for each ID, in input order.
+     */
+    @Transactional
+    public int[] deleteAllById(List<Long> ids) {
+        return jdbcTemplate.batchUpdate(DELETE_SQL, ids.stream()
+                .map(id -> new Object[]{id})
+                .toList());
+    }
+}
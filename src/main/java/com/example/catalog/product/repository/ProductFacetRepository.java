@@ -0,0 +1,89 @@
+package com.example.catalog.product.repository;
+
+import com.example.catalog.product.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Facet counting for searches: every count is a {@code sum(case when ... then 1 else 0 end)} column of one
+ * aggregate query, so the database reads each matching row once and returns a single row of counters.
+ */
+@Repository
+public class ProductFacetRepository {
+
+    private final EntityManager entityManager;
+
+    public ProductFacetRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Counts the products matching {@code filter}, in total and per facet.
+     *
+     * @param filter The search criteria.
+     * @param priceBoundaries Ascending bucket boundaries; n boundaries give n + 1 buckets, the first one below
+     *                        the first boundary and the last one from the last boundary up.
+     * @param since The start of each date range.
+     * @return The counters: the total, then one per price bucket, then one per date range for {@code createdAt},
+     *         then one per date range for {@code updatedAt}.
+     */
+    public long[] countFacets(Specification<Product> filter, List<BigDecimal> priceBoundaries,
+                              List<LocalDateTime> since) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Path<BigDecimal> price = root.get("price");
+        Path<LocalDateTime> createdAt = root.get("createdAt");
+        Path<LocalDateTime> updatedAt = root.get("updatedAt");
+
+        List<Selection<?>> counters = new ArrayList<>();
+        counters.add(cb.count(root));
+        for (int i = 0; i <= priceBoundaries.size(); i++) {
+            Predicate aboveLower = i == 0 ? null : cb.greaterThanOrEqualTo(price, priceBoundaries.get(i - 1));
+            Predicate belowUpper = i == priceBoundaries.size() ? null : cb.lessThan(price, priceBoundaries.get(i));
+            counters.add(countWhere(cb, aboveLower == null ? belowUpper
+                    : belowUpper == null ? aboveLower : cb.and(aboveLower, belowUpper)));
+        }
+        for (LocalDateTime start : since) {
+            counters.add(countWhere(cb, cb.greaterThanOrEqualTo(createdAt, start)));
+        }
+        for (LocalDateTime start : since) {
+            counters.add(countWhere(cb, cb.greaterThanOrEqualTo(updatedAt, start)));
+        }
+        query.multiselect(counters);
+        Predicate predicate = filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        long[] counts = new long[counters.size()];
+        for (int i = 0; i < counts.length; i++) {
+            Number count = (Number) row.get(i);
+            // sum() over no rows is null
+            counts[i] = count == null ? 0 : count.longValue();
+        }
+        return counts;
+    }
+
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Predicate predicate) {
+        if (predicate == null) {
+            return cb.count(cb.literal(1));
+        }
+        return cb.sum(cb.<Long>selectCase().when(predicate, 1L).otherwise(0L));
+    }
+}
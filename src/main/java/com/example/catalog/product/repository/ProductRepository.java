@@ -1,15 +1,54 @@
 package com.example.catalog.product.repository;
 
 
+import com.example.catalog.product.dto.CatalogHighWaterMark;
 import com.example.catalog.product.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Spring Data JPA Repository for the Product entity.
  */
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+    /**
+     * Keyset pagination: returns the next {@code limit} products whose ID is strictly greater than {@code id},
+     * ordered by ID. Uses the primary key index, so the cost is independent of how deep the page is.
+     * {@code type} is either {@link Product} or a projection such as {@code ProductSummary}.
+     */
+    @Transactional(readOnly = true)
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit, Class<T> type);
+
+    /**
+     * Streams every product ordered by ID using a server-side cursor.
+     * Must be consumed inside a read-only transaction and closed after use.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAllOrderById();
+
+    /**
+     * Reads the table's high-water mark. Runs in a read-write transaction, so it is answered by the primary
+     * rather than a replica that may lag behind it.
+     */
+    @Transactional
+    @Query("select new com.example.catalog.product.dto.CatalogHighWaterMark(count(p), max(p.updatedAt)) from Product p")
+    CatalogHighWaterMark highWaterMark();
 }
 
@@ -0,0 +1,100 @@
+package com.example.catalog.product.repository;
+
+import com.example.catalog.product.entity.Product;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking reads of the products table over R2DBC.
+ * Rows are fetched from the server in batches of {@value #FETCH_SIZE} as the subscriber requests them, so a slow
+ * client slows the query down instead of buffering the result in memory. Writes stay on the JPA repositories.
+ */
+@Repository
+public class ReactiveProductRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_SQL =
+            "select id, name, description, price, created_at, updated_at from products";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Finds up to {@code limit} products with an ID greater than {@code cursor}, ordered by ID.
+     */
+    public Flux<Product> findByIdGreaterThan(long cursor, int limit) {
+        return databaseClient.sql(SELECT_SQL + " where id > :cursor order by id limit :limit")
+                .bind("cursor", cursor)
+                .bind("limit", limit)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Mono<Product> findById(long id) {
+        return databaseClient.sql(SELECT_SQL + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toProduct)
+                .one();
+    }
+
+    /**
+     * Streams the products whose name or description contains {@code searchQuery} (case-insensitive) and whose
+     * price lies in the given range, ordered by ID. Null arguments are not applied.
+     */
+    public Flux<Product> search(String searchQuery, Double minPrice, Double maxPrice) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL).append(" where 1 = 1");
+        if (minPrice != null) {
+            sql.append(" and price >= :minPrice");
+        }
+        if (maxPrice != null) {
+            sql.append(" and price <= :maxPrice");
+        }
+        boolean hasQuery = searchQuery != null && !searchQuery.isBlank();
+        if (hasQuery) {
+            sql.append(" and (lower(name) like :query or lower(description) like :query)");
+        }
+        sql.append(" order by id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)));
+        if (minPrice != null) {
+            spec = spec.bind("minPrice", priceBound(minPrice));
+        }
+        if (maxPrice != null) {
+            spec = spec.bind("maxPrice", priceBound(maxPrice));
+        }
+        if (hasQuery) {
+            spec = spec.bind("query", "%" + searchQuery.trim().toLowerCase() + "%");
+        }
+        return spec.map(ReactiveProductRepository::toProduct).all();
+    }
+
+    /**
+     * Large doubles convert to a negative scale, which the R2DBC drivers cannot encode.
+     */
+    private static BigDecimal priceBound(double price) {
+        BigDecimal bound = BigDecimal.valueOf(price);
+        return bound.scale() < 0 ? bound.setScale(0) : bound;
+    }
+
+    private static Product toProduct(Readable row) {
+        Product product = new Product();
+        product.setId(row.get("id", Long.class));
+        product.setName(row.get("name", String.class));
+        product.setDescription(row.get("description", String.class));
+        product.setPrice(row.get("price", BigDecimal.class));
+        product.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        product.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return product;
+    }
+}
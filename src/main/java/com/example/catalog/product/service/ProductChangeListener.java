@@ -0,0 +1,22 @@
+package com.example.catalog.product.service;
+
+import com.example.catalog.product.entity.Product;
+
+/**
+ * Callback for components that keep derived state (indexes, caches) in sync with product writes.
+ * {@link ProductService} notifies every listener bean after a write has been committed.
+ */
+public interface ProductChangeListener {
+
+    /**
+     * Called after a product has been created or updated.
+     * @param product The saved product, including its generated ID and timestamps.
+     */
+    void onProductSaved(Product product);
+
+    /**
+     * Called after a product has been deleted.
+     * @param id The ID of the deleted product.
+     */
+    void onProductDeleted(Long id);
+}
@@ -0,0 +1,170 @@
+package com.example.catalog.product.service;
+
+import com.example.catalog.product.dto.ProductDto;
+import com.example.catalog.product.dto.ProductImportReport;
+import com.example.catalog.product.entity.Product;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports product feeds of any size.
+ * <p>
+ * The input is read incrementally (line by line for NDJSON, token by token for a JSON array), each row is
+ * validated against the {@link ProductDto} constraints, and valid rows are inserted in JDBC batches of
+ * {@code catalog.import.batch-size}. Only one batch is held in memory at a time. If the database rejects a batch,
+ * its rows are inserted one by one, so only the rows it rejects are reported as failed.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${catalog.import.batch-size:1000}")
+    private int batchSize;
+
+    public ProductImportService(ProductService productService, ObjectMapper objectMapper, Validator validator) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Imports newline-delimited JSON: one product object per line. Malformed lines are reported and skipped.
+     *
+     * @param in The request body.
+     * @return The per-row import report.
+     */
+    public ProductImportReport importNdjson(InputStream in) throws IOException {
+        Batch batch = new Batch();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long row = batch.report.nextRow();
+            try {
+                batch.add(row, objectMapper.readValue(line, ProductDto.class));
+            } catch (JsonProcessingException e) {
+                batch.report.addError(row, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        batch.flush();
+        return batch.report;
+    }
+
+    /**
+     * Imports a JSON array of product objects. Elements that cannot be mapped are reported and skipped;
+     * a syntax error stops the import after the rows read so far.
+     *
+     * @param in The request body.
+     * @return The per-row import report.
+     */
+    public ProductImportReport importJsonArray(InputStream in) throws IOException {
+        Batch batch = new Batch();
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                batch.report.setAbortedReason("Expected a JSON array of products");
+                return batch.report;
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                long row = batch.report.nextRow();
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    batch.add(row, objectMapper.treeToValue(node, ProductDto.class));
+                } catch (JsonProcessingException e) {
+                    batch.report.addError(row, "Invalid product: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            batch.report.setAbortedReason("Malformed JSON after row " + batch.report.getReceived() + ": "
+                    + e.getOriginalMessage());
+        }
+        batch.flush();
+        return batch.report;
+    }
+
+    /**
+     * Accumulates validated rows and writes them once the batch is full.
+     */
+    private class Batch {
+        final ProductImportReport report = new ProductImportReport();
+        final List<Product> products = new ArrayList<>(batchSize);
+        final List<Long> rows = new ArrayList<>(batchSize);
+
+        void add(long row, ProductDto dto) {
+            if (dto == null) {
+                report.addError(row, "Expected a product object.");
+                return;
+            }
+            Set<ConstraintViolation<ProductDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                report.addError(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(" ")));
+                return;
+            }
+            Product product = new Product();
+            product.setName(dto.getName());
+            product.setDescription(dto.getDescription());
+            product.setPrice(dto.getPrice());
+            products.add(product);
+            rows.add(row);
+            if (products.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (products.isEmpty()) {
+                return;
+            }
+            report.setBatches(report.getBatches() + 1);
+            try {
+                productService.insertAll(products);
+                report.setImported(report.getImported() + products.size());
+            } catch (DataAccessException e) {
+                logger.warn("Bulk import batch {} failed, inserting its rows one by one: {}", report.getBatches(),
+                        e.getMostSpecificCause().getMessage());
+                insertOneByOne();
+            }
+            products.clear();
+            rows.clear();
+        }
+
+        private void insertOneByOne() {
+            for (int i = 0; i < products.size(); i++) {
+                try {
+                    productService.insertAll(List.of(products.get(i)));
+                    report.setImported(report.getImported() + 1);
+                } catch (DataAccessException e) {
+                    report.addError(rows.get(i), "Insert failed: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.catalog.product.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records product search latency and result sizes.
+ * Both meters are tagged with the filters that were applied ({@code query}, {@code price_range}), the path that
+ * answered the search ({@code source}: {@code result-cache}, {@code search-index}, {@code price-index} or {@code database}) and the
+ * projection ({@code view}), so a slow search can be traced to the combination that caused it.
+ */
+@Component
+public class ProductSearchMetrics {
+
+    public static final String SOURCE_RESULT_CACHE = "result-cache";
+    public static final String SOURCE_SEARCH_INDEX = "search-index";
+    public static final String SOURCE_PRICE_INDEX = "price-index";
+    public static final String SOURCE_DATABASE = "database";
+
+    private final MeterRegistry meterRegistry;
+
+    public ProductSearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(boolean hasQuery, boolean hasPriceRange, String source, String view,
+                       long durationNanos, int resultCount) {
+        Tags tags = Tags.of(
+                "query", Boolean.toString(hasQuery),
+                "price_range", Boolean.toString(hasPriceRange),
+                "source", source,
+                "view", view);
+        Timer.builder("catalog.product.search")
+                .description("Product search latency")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("catalog.product.search.results")
+                .description("Number of products returned by a search")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(resultCount);
+    }
+}
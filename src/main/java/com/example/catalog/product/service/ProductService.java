@@ -1,72 +1,529 @@
 package com.example.catalog.product.service;
 
+import com.example.catalog.common.persistence.ReadWriteRoutingDataSource;
+import com.example.catalog.product.cache.ProductCache;
+import com.example.catalog.product.cache.SearchResultCache;
+import com.example.catalog.product.dto.BulkOperationReport;
+import com.example.catalog.product.dto.CatalogHighWaterMark;
+import com.example.catalog.product.dto.PriceUpdateDto;
+import com.example.catalog.product.dto.ProductFacets;
+import com.example.catalog.product.dto.ProductPage;
+import com.example.catalog.product.dto.ProductSort;
+import com.example.catalog.product.dto.ProductSummary;
 import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.index.ProductPriceIndex;
+import com.example.catalog.product.index.ProductSearchIndex;
+import com.example.catalog.product.index.ProductSuggestIndex;
+import com.example.catalog.product.repository.ProductBulkRepository;
+import com.example.catalog.product.repository.ProductFacetRepository;
 import com.example.catalog.product.repository.ProductRepository;
+import com.example.catalog.product.writebehind.ProductWriteBehind;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.text.Collator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing products.
  */
 @Service
 public class ProductService {
+    private static final int HYDRATION_CHUNK_SIZE = 1000;
+    public static final int MAX_PRICE_BUCKETS = 50;
+
     private final ProductRepository productRepository;
+    private final ProductBulkRepository productBulkRepository;
+    private final ProductFacetRepository productFacetRepository;
+    private final EntityManager entityManager;
+    private final ProductSearchIndex searchIndex;
+    private final ProductPriceIndex priceIndex;
+    private final ProductSuggestIndex suggestIndex;
+    private final ProductCache productCache;
+    private final SearchResultCache searchResultCache;
+    private final ProductWriteBehind writeBehind;
+    private final ProductSearchMetrics searchMetrics;
+    private final List<ProductChangeListener> changeListeners;
+
+    private final View<Product> entityView = new View<>("full", Product.class,
+            this::findEntities, Product::getId, Function.identity());
+    private final View<ProductSummary> summaryView = new View<>("summary", ProductSummary.class,
+            this::findSummaries, ProductSummary::id,
+            product -> new ProductSummary(product.getId(), product.getName(), product.getPrice()));
+
+    @Value("${catalog.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${catalog.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${catalog.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${catalog.search.facets.price-buckets:10,25,50,100,250,500}")
+    private List<BigDecimal> defaultPriceBuckets;
+
+    @Value("${catalog.search.facets.date-ranges:1d,7d,30d,365d}")
+    private List<String> dateRanges;
+
+    @Value("${catalog.search.name-collation:en-US}")
+    private Locale nameCollation;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductBulkRepository productBulkRepository,
+                          ProductFacetRepository productFacetRepository, EntityManager entityManager,
+                          ProductSearchIndex searchIndex, ProductPriceIndex priceIndex,
+                          ProductSuggestIndex suggestIndex,
+                          ProductCache productCache, SearchResultCache searchResultCache,
+                          ProductWriteBehind writeBehind,
+                          ProductSearchMetrics searchMetrics,
+                          List<ProductChangeListener> changeListeners) {
         this.productRepository = productRepository;
+        this.productBulkRepository = productBulkRepository;
+        this.productFacetRepository = productFacetRepository;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.priceIndex = priceIndex;
+        this.suggestIndex = suggestIndex;
+        this.productCache = productCache;
+        this.searchResultCache = searchResultCache;
+        this.writeBehind = writeBehind;
+        this.searchMetrics = searchMetrics;
+        this.changeListeners = changeListeners;
+    }
+
+    /**
+     * Finds a page of products ordered by ID, starting after the given cursor.
+     * The requested size is capped at {@code catalog.page.max-size}.
+     *
+     * @param cursor The ID of the last product of the previous page, or null for the first page.
+     * @param size The requested page size, or null for the default.
+     * @return The page of products and the cursor for the next page.
+     */
+    public ProductPage<Product> findPage(Long cursor, Integer size) {
+        return findPage(cursor, size, entityView);
+    }
+
+    /**
+     * Same as {@link #findPage(Long, Integer)} but selects only the summary columns.
+     */
+    public ProductPage<ProductSummary> findSummaryPage(Long cursor, Integer size) {
+        return findPage(cursor, size, summaryView);
+    }
+
+    private <T> ProductPage<T> findPage(Long cursor, Integer size, View<T> view) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        List<T> content = productRepository.findByIdGreaterThanOrderByIdAsc(
+                cursor == null ? 0L : cursor, Limit.of(pageSize), view.type());
+        Long nextCursor = content.size() < pageSize ? null : view.idOf().apply(content.get(content.size() - 1));
+        return new ProductPage<>(content, nextCursor);
+    }
+
+    /**
+     * Streams all products ordered by ID to the given action, one row at a time.
+     * Each product is detached after the action runs, so the persistence context never holds more than one row.
+     *
+     * @param action The action to apply to each product.
+     */
+    @Transactional(readOnly = true)
+    public void forEachProduct(Consumer<Product> action) {
+        try (Stream<Product> products = productRepository.streamAllOrderById()) {
+            products.forEach(product -> {
+                action.accept(product);
+                entityManager.detach(product);
+            });
+        }
     }
 
     /**
-     * Finds all products.
-     * @return A list of all products.
+     * @return The products table's row count and latest update, read from the primary.
      */
-    public List<Product> findAll() {
-        return productRepository.findAll();
+    public CatalogHighWaterMark highWaterMark() {
+        return productRepository.highWaterMark();
     }
 
     /**
-     * Finds a product by its ID.
+     * Finds a product by its ID, reading through the product cache. A write to it still queued for
+     * write-behind is returned instead.
      * @param id The ID of the product.
      * @return An Optional containing the product if found, otherwise empty.
      */
     public Optional<Product> findById(Long id) {
-        return productRepository.findById(id);
+        return Optional.ofNullable(writeBehind.readThrough(id,
+                () -> productCache.get(id, () -> ReadWriteRoutingDataSource.fillingCache(
+                        () -> productRepository.findById(id).orElse(null)))));
     }
 
     /**
-     * Creates a new product.
-     * @param product The product to create.
-     * @return The created product.
+     * Creates or updates a product. With write-behind enabled the write is queued and batched with others,
+     * and this returns once it is acknowledged.
+     * @param product The product to create, or an existing product with its new values.
+     * @return The saved product.
      */
     public Product save(Product product) {
-        return productRepository.save(product);
+        if (writeBehind.isEnabled()) {
+            return product.getId() == null ? writeBehind.create(product) : writeBehind.update(product);
+        }
+        Product saved = productRepository.save(product);
+        changeListeners.forEach(listener -> listener.onProductSaved(saved));
+        return saved;
+    }
+
+    /**
+     * Inserts new products as one JDBC batch in a single transaction.
+     * @param products The products to create; their IDs and timestamps are filled in.
+     */
+    public void insertAll(List<Product> products) {
+        productBulkRepository.insertAll(products);
+        products.forEach(product -> changeListeners.forEach(listener -> listener.onProductSaved(product)));
     }
 
     /**
-     * Deletes a product by its ID.
+     * Deletes a product by its ID. With write-behind enabled the deletion is queued like {@link #save(Product)}.
      * @param id The ID of the product to delete.
      */
     public void deleteById(Long id) {
+        if (writeBehind.isEnabled()) {
+            writeBehind.delete(id);
+            return;
+        }
         productRepository.deleteById(id);
+        changeListeners.forEach(listener -> listener.onProductDeleted(id));
+    }
+
+    /**
+     * Sets new prices for many products with batched set-based updates, one transaction per chunk
+     * of {@code catalog.bulk.chunk-size} rows. Writes to these products still queued for write-behind are
+     * committed before each chunk, so they cannot overwrite the new prices.
+     * @param updates The product IDs and their new prices.
+     * @return The per-chunk outcome, including IDs that matched no product.
+     */
+    public BulkOperationReport updatePrices(List<PriceUpdateDto> updates) {
+        return inChunks(updates, productBulkRepository::updatePrices, PriceUpdateDto::getId,
+                updatedIds -> productRepository.findAllById(updatedIds).forEach(product ->
+                        changeListeners.forEach(listener -> listener.onProductSaved(product))));
+    }
+
+    /**
+     * Deletes many products with batched deletes, one transaction per chunk of {@code catalog.bulk.chunk-size} IDs.
+     * Writes to these products still queued for write-behind are committed before each chunk, so they cannot
+     * bring a deleted product back.
+     * @param ids The IDs of the products to delete.
+     * @return The per-chunk outcome, including IDs that matched no product.
+     */
+    public BulkOperationReport deleteAllById(List<Long> ids) {
+        return inChunks(ids, productBulkRepository::deleteAllById, Function.identity(),
+                deletedIds -> deletedIds.forEach(id ->
+                        changeListeners.forEach(listener -> listener.onProductDeleted(id))));
+    }
+
+    private <T> BulkOperationReport inChunks(List<T> items, Function<List<T>, int[]> write,
+                                             Function<T, Long> idOf, Consumer<List<Long>> afterCommit) {
+        BulkOperationReport report = new BulkOperationReport();
+        int chunkNumber = 0;
+        for (int from = 0; from < items.size(); from += bulkChunkSize) {
+            List<T> chunk = items.subList(from, Math.min(items.size(), from + bulkChunkSize));
+            chunkNumber++;
+            try {
+                writeBehind.flushPending(chunk.stream().map(idOf).toList());
+                int[] counts = write.apply(chunk);
+                List<Long> affected = new ArrayList<>();
+                List<Long> notFound = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    boolean changed = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+                    (changed ? affected : notFound).add(idOf.apply(chunk.get(i)));
+                }
+                afterCommit.accept(affected);
+                report.addChunk(new BulkOperationReport.ChunkResult(
+                        chunkNumber, chunk.size(), affected.size(), notFound, null));
+            } catch (DataAccessException e) {
+                report.addChunk(new BulkOperationReport.ChunkResult(
+                        chunkNumber, chunk.size(), 0, List.of(), e.getMostSpecificCause().getMessage()));
+            }
+        }
+        return report;
     }
 
     /**
      * Searches for products based on a flexible Specification combining name, description,
-     * and price range.
+     * and price range. Once the in-memory indexes are warm, text queries are answered from the search index
+     * (ranked by relevance), price ranges from the price index (cheapest first), and only the matching rows
+     * are loaded from the database. The IDs of the results are kept in the {@link SearchResultCache}, so a
+     * repeated search only loads the rows, through the product cache.
      *
      * @param searchQuery The keyword to search in name or description.
      * @param minPrice The minimum price for the search range.
      * @param maxPrice The maximum price for the search range.
      * @return A list of products matching the criteria.
      */
+    @Transactional(readOnly = true)
     public List<Product> searchProducts(String searchQuery, Double minPrice, Double maxPrice) {
-        Specification<Product> spec = Specification.where(null);
+        return searchProducts(searchQuery, minPrice, maxPrice, null, Sort.Direction.ASC, null);
+    }
+
+    /**
+     * Same as {@link #searchProducts(String, Double, Double)} but sorted and cut to {@code limit} results.
+     * Database searches run as {@code ORDER BY ... LIMIT}. Index searches select the first {@code limit} matches
+     * in a bounded heap and load only those rows.
+     *
+     * @param sort The order, or null for the default one (relevance, cheapest first, or unspecified).
+     * @param direction The direction of {@code sort}.
+     * @param limit The maximum number of results, or null for all of them.
+     */
+    @Transactional(readOnly = true)
+    public List<Product> searchProducts(String searchQuery, Double minPrice, Double maxPrice,
+                                        ProductSort sort, Sort.Direction direction, Integer limit) {
+        return search(searchQuery, finiteBound(minPrice), finiteBound(maxPrice), sort, direction, limit, entityView);
+    }
+
+    /**
+     * Same as {@link #searchProducts(String, Double, Double)} but selects only the summary columns.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSummary> searchProductSummaries(String searchQuery, Double minPrice, Double maxPrice) {
+        return searchProductSummaries(searchQuery, minPrice, maxPrice, null, Sort.Direction.ASC, null);
+    }
+
+    /**
+     * Same as {@link #searchProducts(String, Double, Double, ProductSort, Sort.Direction, Integer)} but selects
+     * only the summary columns.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSummary> searchProductSummaries(String searchQuery, Double minPrice, Double maxPrice,
+                                                       ProductSort sort, Sort.Direction direction, Integer limit) {
+        return search(searchQuery, finiteBound(minPrice), finiteBound(maxPrice), sort, direction, limit, summaryView);
+    }
+
+    /**
+     * Searches through the search result cache. The search fills that cache and the product cache, so it reads
+     * from a replica only if the replica has replayed every recent write.
+     */
+    private <T> List<T> search(String searchQuery, Double minPrice, Double maxPrice,
+                               ProductSort sort, Sort.Direction direction, Integer limit, View<T> view) {
+        return ReadWriteRoutingDataSource.fillingCache(
+                () -> searchThroughCache(searchQuery, minPrice, maxPrice, sort, direction, limit, view));
+    }
+
+    private <T> List<T> searchThroughCache(String searchQuery, Double minPrice, Double maxPrice,
+                                           ProductSort sort, Sort.Direction direction, Integer limit, View<T> view) {
+        boolean hasQuery = searchQuery != null && !searchQuery.trim().isEmpty();
+        boolean hasPriceRange = minPrice != null || maxPrice != null;
+        boolean descending = sort != null && direction == Sort.Direction.DESC;
+        int max = limit == null || limit <= 0 ? Integer.MAX_VALUE : limit;
+        long start = System.nanoTime();
+        SearchResultCache.Key key = SearchResultCache.key(searchQuery, minPrice, maxPrice, sort, descending, max);
+        long epoch = searchResultCache.epoch();
+        long[] cachedIds = searchResultCache.get(key);
+        String source;
+        List<T> results;
+        if (cachedIds != null) {
+            source = ProductSearchMetrics.SOURCE_RESULT_CACHE;
+            results = findAllByIdInOrder(cachedIds, view);
+        } else if (hasQuery && searchIndex.isReady()) {
+            source = ProductSearchMetrics.SOURCE_SEARCH_INDEX;
+            long[] ids = searchIndex.search(searchQuery);
+            Specification<Product> filter = Specification.where(null);
+            if (sort == ProductSort.PRICE && priceIndex.isReady()) {
+                ids = priceIndex.orderByPrice(ids, minPrice, maxPrice, descending, max);
+            } else {
+                if (hasPriceRange && priceIndex.isReady()) {
+                    ids = Arrays.stream(ids).filter(id -> priceIndex.isInRange(id, minPrice, maxPrice)).toArray();
+                } else {
+                    filter = priceRange(minPrice, maxPrice);
+                }
+                if (sort != null) {
+                    ids = topIdsBy(ids, filter, sort, descending, max);
+                    filter = Specification.where(null);
+                }
+            }
+            results = findAllByIdInOrder(ids, filter, view, max);
+        } else if (!hasQuery && hasPriceRange && priceIndex.isReady() && (sort == null || sort == ProductSort.PRICE)) {
+            source = ProductSearchMetrics.SOURCE_PRICE_INDEX;
+            results = findAllByIdInOrder(priceIndex.idsInRange(minPrice, maxPrice, descending, max),
+                    Specification.where(null), view, max);
+        } else {
+            source = ProductSearchMetrics.SOURCE_DATABASE;
+            Sort order = sort == null ? Sort.unsorted()
+                    : Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, sort.attribute()).and(Sort.by("id"));
+            results = view.finder().find(searchSpecification(searchQuery, hasQuery, minPrice, maxPrice), order,
+                    limit == null || limit <= 0 ? Limit.unlimited() : Limit.of(limit));
+        }
+        if (cachedIds == null) {
+            searchResultCache.put(key, results.stream().mapToLong(row -> view.idOf().apply(row)).toArray(), epoch);
+        }
+        searchMetrics.record(hasQuery, hasPriceRange, source, view.name(), System.nanoTime() - start, results.size());
+        return results;
+    }
+
+    /**
+     * Orders the given products by {@code sort}, keeping the first {@code limit} that match {@code filter}.
+     * The sort keys are read from the database one chunk of IDs at a time and selected in a bounded heap, so
+     * neither the keys nor the rows of the whole match set are held at once. Names are compared with a
+     * {@link Collator} for {@code catalog.search.name-collation}, the locale the database collates names in.
+     */
+    private long[] topIdsBy(long[] ids, Specification<Product> filter, ProductSort sort, boolean descending, int limit) {
+        return switch (sort) {
+            case PRICE -> topIdsBy(ids, filter, sort, BigDecimal.class, Comparator.naturalOrder(), descending, limit);
+            case NAME -> topIdsBy(ids, filter, sort, String.class, Collator.getInstance(nameCollation)::compare,
+                    descending, limit);
+            case CREATED_AT -> topIdsBy(ids, filter, sort, LocalDateTime.class, Comparator.naturalOrder(),
+                    descending, limit);
+        };
+    }
+
+    private <K> long[] topIdsBy(long[] ids, Specification<Product> filter, ProductSort sort, Class<K> keyType,
+                                Comparator<K> order, boolean descending, int limit) {
+        Comparator<SortKey<K>> keyOrder = Comparator.comparing(SortKey::key, Comparator.nullsLast(order));
+        TopK<SortKey<K>> top = new TopK<>(limit, (descending ? keyOrder.reversed() : keyOrder)
+                .thenComparingLong(SortKey::id));
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        for (int from = 0; from < ids.length; from += HYDRATION_CHUNK_SIZE) {
+            List<Long> chunk = Arrays.stream(ids, from, Math.min(ids.length, from + HYDRATION_CHUNK_SIZE))
+                    .boxed().toList();
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<Product> root = query.from(Product.class);
+            Path<Long> id = root.get("id");
+            Path<K> key = root.get(sort.attribute());
+            Predicate predicate = filter.and((r, q, b) -> r.get("id").in(chunk)).toPredicate(root, query, cb);
+            query.multiselect(id, key).where(predicate);
+            for (Tuple row : entityManager.createQuery(query).getResultList()) {
+                top.offer(new SortKey<>(row.get(0, Long.class), row.get(1, keyType)));
+            }
+        }
+        return top.toSortedList().stream().mapToLong(SortKey::id).toArray();
+    }
+
+    /**
+     * Counts the products matching a search per price bucket and per created/updated date range, without loading
+     * them. Each count is a column of one aggregate query; when the search index answers a text query, the
+     * matching IDs are aggregated in chunks and the counters added up.
+     *
+     * @param searchQuery The keyword to search in name or description.
+     * @param minPriceBound The minimum price for the search range.
+     * @param maxPriceBound The maximum price for the search range.
+     * @param priceBuckets The bucket boundaries, or null for {@code catalog.search.facets.price-buckets};
+     *                     at most {@link #MAX_PRICE_BUCKETS}.
+     * @return The total and the per-facet counts.
+     */
+    @Transactional(readOnly = true)
+    public ProductFacets searchFacets(String searchQuery, Double minPriceBound, Double maxPriceBound,
+                                      List<BigDecimal> priceBuckets) {
+        Double minPrice = finiteBound(minPriceBound);
+        Double maxPrice = finiteBound(maxPriceBound);
+        List<BigDecimal> boundaries = (priceBuckets == null || priceBuckets.isEmpty() ? defaultPriceBuckets : priceBuckets)
+                .stream().sorted().distinct().toList();
+        if (boundaries.size() > MAX_PRICE_BUCKETS) {
+            throw new IllegalArgumentException("At most " + MAX_PRICE_BUCKETS + " price buckets are allowed");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime> since = dateRanges.stream()
+                .map(range -> now.minus(DurationStyle.detectAndParse(range)))
+                .toList();
+
+        boolean hasQuery = searchQuery != null && !searchQuery.trim().isEmpty();
+        long[] counts;
+        if (hasQuery && searchIndex.isReady()) {
+            long[] ids = searchIndex.search(searchQuery);
+            Specification<Product> filter = priceRange(minPrice, maxPrice);
+            if ((minPrice != null || maxPrice != null) && priceIndex.isReady()) {
+                ids = Arrays.stream(ids).filter(id -> priceIndex.isInRange(id, minPrice, maxPrice)).toArray();
+                filter = Specification.where(null);
+            }
+            counts = new long[1 + boundaries.size() + 1 + 2 * since.size()];
+            for (int from = 0; from < ids.length; from += HYDRATION_CHUNK_SIZE) {
+                List<Long> chunk = Arrays.stream(ids, from, Math.min(ids.length, from + HYDRATION_CHUNK_SIZE))
+                        .boxed().toList();
+                long[] chunkCounts = productFacetRepository.countFacets(
+                        filter.and((root, query, cb) -> root.get("id").in(chunk)), boundaries, since);
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += chunkCounts[i];
+                }
+            }
+        } else {
+            counts = productFacetRepository.countFacets(
+                    searchSpecification(searchQuery, hasQuery, minPrice, maxPrice), boundaries, since);
+        }
+
+        int next = 1;
+        List<ProductFacets.PriceBucket> price = new ArrayList<>();
+        for (int i = 0; i <= boundaries.size(); i++) {
+            price.add(new ProductFacets.PriceBucket(i == 0 ? null : boundaries.get(i - 1),
+                    i == boundaries.size() ? null : boundaries.get(i), counts[next++]));
+        }
+        List<ProductFacets.DateRange> createdAt = new ArrayList<>();
+        for (int i = 0; i < since.size(); i++) {
+            createdAt.add(new ProductFacets.DateRange(dateRanges.get(i), since.get(i), counts[next++]));
+        }
+        List<ProductFacets.DateRange> updatedAt = new ArrayList<>();
+        for (int i = 0; i < since.size(); i++) {
+            updatedAt.add(new ProductFacets.DateRange(dateRanges.get(i), since.get(i), counts[next++]));
+        }
+        return new ProductFacets(counts[0], price, createdAt, updatedAt);
+    }
+
+    /**
+     * Suggests products for a search box: those with a word in their name starting with {@code prefix},
+     * cheapest first. Answered from the suggestion index once it is warm, otherwise from the database.
+     *
+     * @param prefix The text typed so far.
+     * @param limit The maximum number of suggestions, or null for {@code catalog.suggest.max-results};
+     *              capped at that value.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSummary> suggest(String prefix, Integer limit) {
+        int size = limit == null || limit <= 0 ? suggestIndex.maxResults() : Math.min(limit, suggestIndex.maxResults());
+        if (suggestIndex.isReady()) {
+            return suggestIndex.suggest(prefix, size);
+        }
+        String term = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> root = query.from(Product.class);
+        Expression<String> name = cb.lower(root.get("name"));
+        query.select(cb.construct(ProductSummary.class, root.get("id"), root.get("name"), root.get("price")))
+                .where(cb.or(cb.like(name, escaped + "%", '\\'), cb.like(name, "% " + escaped + "%", '\\')))
+                .orderBy(cb.asc(root.get("price")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(size).getResultList();
+    }
+
+    private Specification<Product> searchSpecification(String searchQuery, boolean hasQuery,
+                                                       Double minPrice, Double maxPrice) {
+        Specification<Product> spec = priceRange(minPrice, maxPrice);
 
         // Add search query criteria if present
-        if (searchQuery != null && !searchQuery.trim().isEmpty()) {
+        if (hasQuery) {
             String likeQuery = "%" + searchQuery.trim().toLowerCase() + "%";
             // A specification that checks if name OR description contains the query string (case-insensitive)
             spec = spec.and((root, query, cb) ->
@@ -76,6 +533,22 @@ public class ProductService {
                     )
             );
         }
+        return spec;
+    }
+
+    /**
+     * Replaces an infinite price bound by the largest finite one of the same sign, which neither the database
+     * nor {@link BigDecimal} accept.
+     */
+    static Double finiteBound(Double price) {
+        if (price == null || !price.isInfinite()) {
+            return price;
+        }
+        return Math.copySign(Double.MAX_VALUE, price);
+    }
+
+    private Specification<Product> priceRange(Double minPrice, Double maxPrice) {
+        Specification<Product> spec = Specification.where(null);
 
         // Add minimum price criteria if present
         if (minPrice != null) {
@@ -90,8 +563,95 @@ public class ProductService {
                     cb.lessThanOrEqualTo(root.get("price"), maxPrice)
             );
         }
+        return spec;
+    }
+
+    /**
+     * Loads the given products in chunks, applying {@code filter}, and returns the first {@code limit} of them
+     * in the order of {@code ids}. Chunks after the one reaching {@code limit} are not loaded.
+     */
+    private <T> List<T> findAllByIdInOrder(long[] ids, Specification<Product> filter, View<T> view, int limit) {
+        List<T> result = new ArrayList<>();
+        for (int from = 0; from < ids.length && result.size() < limit; from += HYDRATION_CHUNK_SIZE) {
+            List<Long> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(ids.length, from + HYDRATION_CHUNK_SIZE); i++) {
+                chunk.add(ids[i]);
+            }
+            Map<Long, T> byId = new HashMap<>();
+            view.finder().find(filter.and((root, query, cb) -> root.get("id").in(chunk)), Sort.unsorted(), Limit.unlimited())
+                    .forEach(row -> byId.put(view.idOf().apply(row), row));
+            for (Long id : chunk) {
+                T row = byId.get(id);
+                if (row != null && result.size() < limit) {
+                    result.add(row);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads the given products through the product cache, in the order of {@code ids}. Missing products are
+     * read from the database in chunks.
+     */
+    private <T> List<T> findAllByIdInOrder(long[] ids, View<T> view) {
+        Map<Long, Product> products = productCache.getAll(Arrays.stream(ids).boxed().toList(), missing -> {
+            List<Product> loaded = new ArrayList<>();
+            for (int from = 0; from < missing.size(); from += HYDRATION_CHUNK_SIZE) {
+                loaded.addAll(productRepository.findAllById(
+                        missing.subList(from, Math.min(missing.size(), from + HYDRATION_CHUNK_SIZE))));
+            }
+            return loaded;
+        });
+        List<T> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                result.add(view.fromProduct().apply(product));
+            }
+        }
+        return result;
+    }
+
+    private List<Product> findEntities(Specification<Product> spec, Sort sort, Limit limit) {
+        if (limit.isUnlimited()) {
+            return productRepository.findAll(spec, sort);
+        }
+        return productRepository.findBy(spec, query -> query.sortBy(sort).limit(limit.max()).all());
+    }
+
+    /**
+     * Selects only the {@link ProductSummary} columns of the products matching {@code spec}.
+     */
+    private List<ProductSummary> findSummaries(Specification<Product> spec, Sort sort, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductSummary.class, root.get("id"), root.get("name"), root.get("price")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        TypedQuery<ProductSummary> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * How rows are loaded: as full entities or as a column-reduced projection.
+     */
+    private record View<T>(String name, Class<T> type, Finder<T> finder, Function<T, Long> idOf,
+                           Function<Product, T> fromProduct) {
+    }
+
+    @FunctionalInterface
+    private interface Finder<T> {
+        List<T> find(Specification<Product> spec, Sort sort, Limit limit);
+    }
 
-        // Pass the dynamically built specification to the repository
-        return productRepository.findAll(spec);
+    private record SortKey<K>(long id, K key) {
     }
 }
@@ -0,0 +1,50 @@
+package com.example.catalog.product.service;
+
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.repository.ReactiveProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only product queries on the non-blocking R2DBC path.
+ * No request thread waits on the database: results are emitted as rows arrive and honour subscriber demand.
+ * All writes go through {@link ProductService}.
+ */
+@Service
+public class ReactiveProductService {
+
+    private final ReactiveProductRepository reactiveProductRepository;
+
+    @Value("${catalog.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${catalog.page.max-size:500}")
+    private int maxPageSize;
+
+    public ReactiveProductService(ReactiveProductRepository reactiveProductRepository) {
+        this.reactiveProductRepository = reactiveProductRepository;
+    }
+
+    /**
+     * Finds a page of products ordered by ID, starting after the given cursor.
+     * The requested size is capped at {@code catalog.page.max-size}.
+     */
+    public Flux<Product> findPage(Long cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        return reactiveProductRepository.findByIdGreaterThan(cursor == null ? 0L : cursor, pageSize);
+    }
+
+    public Mono<Product> findById(Long id) {
+        return reactiveProductRepository.findById(id);
+    }
+
+    /**
+     * Infinite price bounds are replaced like in {@link ProductService}; NaN bounds must be rejected by the caller.
+     */
+    public Flux<Product> searchProducts(String searchQuery, Double minPrice, Double maxPrice) {
+        return reactiveProductRepository.search(searchQuery, ProductService.finiteBound(minPrice),
+                ProductService.finiteBound(maxPrice));
+    }
+}
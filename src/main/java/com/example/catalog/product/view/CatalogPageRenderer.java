@@ -0,0 +1,99 @@
+package com.example.catalog.product.view;
+
+import com.example.catalog.product.cache.ProductFragmentCache;
+import com.example.catalog.product.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the product catalog page ({@code product-main}) with its first page of products, so the browser shows
+ * them without a second request to the search API.
+ * <p>
+ * The page is assembled from cached parts: the shell (the template around the product grid, split at
+ * {@link #GRID_MARKER}) is rendered once, and each product card ({@code product-card :: card}) once per
+ * product version through the {@link ProductFragmentCache}. Only cards of new or changed products are rendered.
+ * The shell is re-rendered on every request when {@code spring.thymeleaf.cache=false}, so template edits show
+ * up during development.
+ */
+@Component
+public class CatalogPageRenderer {
+
+    static final String GRID_MARKER = "<!-- product-grid -->";
+
+    private record Shell(String head, String tail, String empty, String more) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final ProductFragmentCache fragmentCache;
+    private final boolean cacheShell;
+    private volatile Shell shell;
+
+    public CatalogPageRenderer(ITemplateEngine templateEngine, ProductFragmentCache fragmentCache,
+                               @Value("${spring.thymeleaf.cache:true}") boolean cacheShell) {
+        this.templateEngine = templateEngine;
+        this.fragmentCache = fragmentCache;
+        this.cacheShell = cacheShell;
+    }
+
+    /**
+     * @param products The products to show, or null to leave the grid for the page's JavaScript to fill.
+     * @param hasMore Whether there are more products than {@code products}; the page then offers to show all.
+     * @return The HTML of the page.
+     */
+    public String render(List<Product> products, boolean hasMore) {
+        Shell parts = shell();
+        if (products == null) {
+            return parts.head() + parts.tail();
+        }
+        StringBuilder page = new StringBuilder(parts.head().length() + parts.tail().length() + products.size() * 1024);
+        page.append(parts.head());
+        if (products.isEmpty()) {
+            page.append(parts.empty());
+        }
+        for (Product product : products) {
+            page.append(card(product));
+        }
+        if (hasMore) {
+            page.append(parts.more());
+        }
+        return page.append(parts.tail()).toString();
+    }
+
+    private String card(Product product) {
+        String html = fragmentCache.get(product.getId(), product.getUpdatedAt());
+        if (html == null) {
+            html = templateEngine.process("product-card", Set.of("card"),
+                    new Context(Locale.ROOT, Map.of("product", product)));
+            if (product.getId() != null && product.getUpdatedAt() != null) {
+                fragmentCache.put(product.getId(), product.getUpdatedAt(), html);
+            }
+        }
+        return html;
+    }
+
+    private Shell shell() {
+        Shell current = shell;
+        if (current != null) {
+            return current;
+        }
+        String page = templateEngine.process("product-main", new Context(Locale.ROOT));
+        int marker = page.indexOf(GRID_MARKER);
+        if (marker < 0) {
+            throw new IllegalStateException("Template product-main has no " + GRID_MARKER);
+        }
+        current = new Shell(page.substring(0, marker), page.substring(marker + GRID_MARKER.length()),
+                templateEngine.process("product-card", Set.of("empty"), new Context(Locale.ROOT)),
+                templateEngine.process("product-card", Set.of("more"), new Context(Locale.ROOT)));
+        if (cacheShell) {
+            shell = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.catalog.product.view;
+
+import com.example.catalog.common.startup.StartupWarmUp;
+import com.example.catalog.product.dto.ProductPage;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders the catalog's first page once the application is up, so the templates are parsed and the cards of the
+ * first page are in the {@code ProductFragmentCache} before the first visitor asks for them.
+ * Runs on a background thread; readiness waits for it ({@link StartupWarmUp}).
+ */
+@Component
+public class CatalogPageWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogPageWarmer.class);
+    private static final String TASK = "catalog-page";
+
+    private final ProductService productService;
+    private final CatalogPageRenderer catalogPageRenderer;
+    private final StartupWarmUp startupWarmUp;
+
+    public CatalogPageWarmer(ProductService productService, CatalogPageRenderer catalogPageRenderer,
+                             StartupWarmUp startupWarmUp) {
+        this.productService = productService;
+        this.catalogPageRenderer = catalogPageRenderer;
+        this.startupWarmUp = startupWarmUp;
+        startupWarmUp.begin(TASK);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        Thread.ofPlatform().name("catalog-page-warmer").daemon().start(() -> {
+            try {
+                long start = System.nanoTime();
+                ProductPage<Product> firstPage = productService.findPage(null, null);
+                catalogPageRenderer.render(firstPage.getContent(), firstPage.getNextCursor() != null);
+                logger.info("Rendered the catalog's first page in {} ms", (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                logger.warn("Could not render the catalog's first page ahead of time", e);
+            } finally {
+                startupWarmUp.done(TASK);
+            }
+        });
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.catalog.product.writebehind;
+
+import com.example.catalog.common.exception.NotFoundException;
+import com.example.catalog.common.exception.WriteQueueFullException;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.repository.ProductBulkRepository;
+import com.example.catalog.product.service.ProductChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in write-behind for single-product writes ({@code catalog.write-behind.enabled}).
+ * <p>
+ * Creates, updates and deletes go into a lock-free queue holding at most {@code catalog.write-behind.capacity}
+ * writes, queued or being written; when it stays full for {@code catalog.write-behind.offer-timeout} the write
+ * is rejected with {@link WriteQueueFullException}. A dedicated writer drains the queue every
+ * {@code catalog.write-behind.flush-interval}, or as soon as {@code catalog.write-behind.max-batch} writes are
+ * waiting, keeps only the last write per product ID and commits the batch in one transaction of JDBC batches.
+ * Change listeners are notified after the commit, as for synchronous writes.
+ * <p>
+ * Updates and deletes are acknowledged per {@code catalog.write-behind.ack}; creates always wait for their
+ * batch, since the caller needs the generated ID. Until a write is committed it is kept in an overlay by
+ * product ID that {@link #readThrough(Long, Supplier)} consults first, so callers read their own writes.
+ * If a batch's transaction fails, its writes are retried one by one and only the failing ones are reported to
+ * their callers. Listeners run after the commit, so a failing listener is logged but never fails or repeats a write.
+ * Bulk writes call {@link #flushPending(Collection)} first, so a queued write never lands after them.
+ */
+@Component
+public class ProductWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductWriteBehind.class);
+
+    private final ProductBulkRepository productBulkRepository;
+    private final TransactionOperations transactions;
+    private final List<ProductChangeListener> changeListeners;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final WriteAck ack;
+    private final ConcurrentLinkedQueue<Mutation> queue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<Long, Mutation> overlay = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter coalesced;
+    private volatile Thread writer;
+    private volatile boolean closed;
+
+    public ProductWriteBehind(ProductBulkRepository productBulkRepository, TransactionOperations transactions,
+                              List<ProductChangeListener> changeListeners, MeterRegistry meterRegistry,
+                              @Value("${catalog.write-behind.enabled:false}") boolean enabled,
+                              @Value("${catalog.write-behind.capacity:10000}") int capacity,
+                              @Value("${catalog.write-behind.max-batch:500}") int maxBatch,
+                              @Value("${catalog.write-behind.flush-interval:50ms}") Duration flushInterval,
+                              @Value("${catalog.write-behind.offer-timeout:1s}") Duration offerTimeout,
+                              @Value("${catalog.write-behind.ack:flushed}") WriteAck ack) {
+        this.productBulkRepository = productBulkRepository;
+        this.transactions = transactions;
+        this.changeListeners = changeListeners;
+        this.enabled = enabled;
+        this.capacity = new Semaphore(capacity);
+        this.maxBatch = maxBatch;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.ack = ack;
+        Gauge.builder("catalog.product.write_behind.queued", queued, AtomicInteger::get)
+                .description("Product writes waiting for the write-behind writer")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("catalog.product.write_behind.coalesced")
+                .description("Product writes superseded by a later write to the same product before their flush")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            writer = Thread.ofPlatform().name("product-write-behind").daemon().start(this::run);
+        }
+    }
+
+    /**
+     * @return true if single-product writes should go through this pipeline.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a new product and waits until it is committed.
+     *
+     * @param product A product without an ID; its ID and timestamps are filled in.
+     * @return The product.
+     */
+    public Product create(Product product) {
+        return await(submit(Mutation.Kind.CREATE, null, product).committed());
+    }
+
+    /**
+     * Queues an update of an existing product, replacing any queued write to it.
+     *
+     * @param product The product with its ID and new values; not modified.
+     * @return The product as it will be written, once the write is acknowledged.
+     */
+    public Product update(Product product) {
+        Product pending = copyOf(product);
+        pending.setUpdatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        Mutation mutation = submit(Mutation.Kind.UPDATE, product.getId(), pending);
+        return ack == WriteAck.FLUSHED ? await(mutation.committed()) : copyOf(pending);
+    }
+
+    /**
+     * Queues the deletion of a product, replacing any queued write to it, and returns once it is acknowledged.
+     */
+    public void delete(Long id) {
+        Mutation mutation = submit(Mutation.Kind.DELETE, id, null);
+        if (ack == WriteAck.FLUSHED) {
+            await(mutation.committed());
+        }
+    }
+
+    /**
+     * Reads a product as its callers last wrote it: from the overlay while a write to it is pending, otherwise
+     * with {@code loader}.
+     *
+     * @return A copy of the pending product, null if its deletion is pending, or the loaded product.
+     */
+    public Product readThrough(Long id, Supplier<Product> loader) {
+        Mutation pending = overlay.get(id);
+        if (pending == null) {
+            return loader.get();
+        }
+        return pending.kind() == Mutation.Kind.DELETE ? null : copyOf(pending.product());
+    }
+
+    /**
+     * Commits the queued writes now if one of them is to a product among {@code ids}, so that a bulk write which
+     * bypasses the queue is applied after them instead of being overwritten by them, and readers no longer see
+     * them in the overlay.
+     */
+    public void flushPending(Collection<Long> ids) {
+        if (!enabled || overlay.isEmpty()) {
+            return;
+        }
+        for (Long id : ids) {
+            if (id != null && overlay.containsKey(id)) {
+                flush();
+                return;
+            }
+        }
+    }
+
+    private Mutation submit(Mutation.Kind kind, Long id, Product product) {
+        if (closed) {
+            throw new IllegalStateException("The write-behind queue is closed");
+        }
+        try {
+            if (!capacity.tryAcquire(offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new WriteQueueFullException("The write queue is full, retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteQueueFullException("Interrupted while waiting for room in the write queue");
+        }
+        Mutation mutation = new Mutation(kind, id, product, new CompletableFuture<>());
+        queued.incrementAndGet();
+        if (id == null) {
+            queue.add(mutation);
+        } else {
+            // Enqueue under the overlay entry, so writes to one product reach the queue in overlay order
+            overlay.compute(id, (key, previous) -> {
+                queue.add(mutation);
+                return mutation;
+            });
+        }
+        Thread current = writer;
+        if (current != null && queued.get() >= maxBatch) {
+            LockSupport.unpark(current);
+        }
+        return mutation;
+    }
+
+    private void run() {
+        while (!closed) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("Write-behind flush failed", e);
+            }
+        }
+    }
+
+    /**
+     * Writes everything queued so far, in batches of at most {@code catalog.write-behind.max-batch}.
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            List<Mutation> batch = new ArrayList<>();
+            while (true) {
+                Mutation mutation;
+                while (batch.size() < maxBatch && (mutation = queue.poll()) != null) {
+                    batch.add(mutation);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                queued.addAndGet(-batch.size());
+                try {
+                    write(batch);
+                } finally {
+                    capacity.release(batch.size());
+                }
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<Mutation> batch) {
+        // Writes to the same product, in queue order; the last one wins
+        Map<Object, List<Mutation>> byProduct = new LinkedHashMap<>();
+        for (Mutation mutation : batch) {
+            byProduct.computeIfAbsent(mutation.id() == null ? mutation : mutation.id(), key -> new ArrayList<>())
+                    .add(mutation);
+        }
+        List<List<Mutation>> groups = new ArrayList<>(byProduct.values());
+        coalesced.increment(batch.size() - groups.size());
+        int[] updateCounts;
+        try {
+            updateCounts = commit(groups);
+        } catch (RuntimeException e) {
+            if (groups.size() == 1) {
+                fail(groups.getFirst(), e);
+                return;
+            }
+            logger.warn("Write-behind batch of {} products failed, retrying them one by one", groups.size(), e);
+            for (List<Mutation> group : groups) {
+                int[] groupCounts;
+                try {
+                    groupCounts = commit(List.of(group));
+                } catch (RuntimeException retryFailure) {
+                    fail(group, retryFailure);
+                    continue;
+                }
+                publish(List.of(group), groupCounts);
+            }
+            return;
+        }
+        publish(groups, updateCounts);
+    }
+
+    /**
+     * Writes the last write of each group in one transaction; only this part is retried when it fails.
+     *
+     * @return The number of rows changed by each update, in group order.
+     */
+    private int[] commit(List<List<Mutation>> groups) {
+        List<Product> creates = new ArrayList<>();
+        List<Product> updates = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (List<Mutation> group : groups) {
+            Mutation last = group.getLast();
+            switch (last.kind()) {
+                case CREATE -> creates.add(last.product());
+                case UPDATE -> updates.add(last.product());
+                case DELETE -> deletes.add(last.id());
+            }
+        }
+        return transactions.execute(status -> {
+            if (!creates.isEmpty()) {
+                productBulkRepository.insertAll(creates);
+            }
+            if (!deletes.isEmpty()) {
+                productBulkRepository.deleteAllById(deletes);
+            }
+            return updates.isEmpty() ? new int[0] : productBulkRepository.updateAll(updates);
+        });
+    }
+
+    /**
+     * Notifies the change listeners of committed writes and completes their callers. A failing listener is
+     * logged and does not keep the other listeners or the callers from seeing the write.
+     */
+    private void publish(List<List<Mutation>> groups, int[] updateCounts) {
+        int update = 0;
+        for (List<Mutation> group : groups) {
+            Mutation last = group.getLast();
+            RuntimeException failure = null;
+            switch (last.kind()) {
+                case CREATE -> notifyListeners(last, listener -> listener.onProductSaved(last.product()));
+                case UPDATE -> {
+                    int count = updateCounts[update++];
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                        notifyListeners(last, listener -> listener.onProductSaved(last.product()));
+                    } else {
+                        failure = new NotFoundException("Product with ID " + last.id() + " not found.");
+                    }
+                }
+                case DELETE -> notifyListeners(last, listener -> listener.onProductDeleted(last.id()));
+            }
+            // Listeners have seen the write, so readers can fall back to the cache and database
+            if (last.id() != null) {
+                overlay.remove(last.id(), last);
+            }
+            for (Mutation mutation : group) {
+                if (failure == null) {
+                    mutation.committed().complete(mutation.product());
+                } else {
+                    mutation.committed().completeExceptionally(failure);
+                }
+            }
+        }
+    }
+
+    private void notifyListeners(Mutation mutation, Consumer<ProductChangeListener> notification) {
+        Long id = mutation.id() != null ? mutation.id() : mutation.product().getId();
+        for (ProductChangeListener listener : changeListeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                logger.error("{} failed on the committed write-behind {} of product {}",
+                        listener.getClass().getName(), mutation.kind(), id, e);
+            }
+        }
+    }
+
+    private void fail(List<Mutation> group, RuntimeException e) {
+        Mutation last = group.getLast();
+        logger.error("Write-behind {} of product {} failed", last.kind(), last.id(), e);
+        if (last.id() != null) {
+            overlay.remove(last.id(), last);
+        }
+        group.forEach(mutation -> mutation.committed().completeExceptionally(e));
+    }
+
+    /**
+     * Stops the writer after it has written everything queued.
+     */
+    @PreDestroy
+    public void close() {
+        closed = true;
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private static Product await(CompletableFuture<Product> committed) {
+        try {
+            return committed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Product copyOf(Product source) {
+        Product copy = new Product();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setPrice(source.getPrice());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * A queued write. {@code committed} completes with the written product once the write, or a later write to
+     * the same product that superseded it, has committed.
+     */
+    private record Mutation(Kind kind, Long id, Product product, CompletableFuture<Product> committed) {
+
+        enum Kind {
+            CREATE, UPDATE, DELETE
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.catalog.product.writebehind;
+
+/**
+ * When a queued update or delete is acknowledged to its caller.
+ */
+public enum WriteAck {
+    /**
+     * Once it is queued: it is visible through {@code ProductService.findById} right away, but is lost if the
+     * process dies before the next flush.
+     */
+    ACCEPTED,
+    /**
+     * Once the batch holding it has committed.
+     */
+    FLUSHED
+}
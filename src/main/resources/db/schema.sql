@@ -0,0 +1,19 @@
+-- The catalog's tables, as the JPA entities map them. The fast-startup profile (ddl-auto=none) runs this on
+-- startup; every statement is a no-op once its object exists, including on a database Hibernate created.
+create table if not exists users (
+    id bigint generated by default as identity primary key,
+    username varchar(255) not null unique,
+    password varchar(255) not null
+);
+
+create table if not exists products (
+    id bigint generated by default as identity primary key,
+    name varchar(255) not null,
+    description text,
+    price numeric(38, 2) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+-- Price-range searches use an index range scan (see Product)
+create index if not exists idx_products_price on products (price);
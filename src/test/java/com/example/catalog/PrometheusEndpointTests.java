@@ -0,0 +1,53 @@
+package com.example.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "catalog.index.enabled=false")
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class PrometheusEndpointTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void scrapeExposesHotPathMetricsAfterAuthenticatedSearch() {
+		RestClient client = RestClient.create("http://localhost:" + port);
+		Map<?, ?> login = client.post().uri("/api/authenticate")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(Map.of("username", "admin", "password", "Frankliu@12345!"))
+				.retrieve()
+				.body(Map.class);
+		client.get().uri("/api/products/search?searchQuery=lamp&minPrice=10&view=summary")
+				.header("Authorization", "Bearer " + login.get("jwt"))
+				.retrieve()
+				.toBodilessEntity();
+
+		String scrape = client.get().uri("/actuator/prometheus")
+				.retrieve()
+				.body(String.class);
+
+		assertThat(scrape)
+				.contains("http_server_requests_seconds_bucket{")
+				.containsPattern("http_server_requests_seconds_count\\{[^}]*uri=\"/api/products/search\"")
+				.containsPattern("catalog_product_search_seconds_bucket\\{[^}]*price_range=\"true\",query=\"true\","
+						+ "source=\"database\",view=\"summary\"")
+				.containsPattern("catalog_product_search_results_count\\{[^}]*source=\"database\"")
+				.containsPattern("catalog_jwt_verify_seconds_count\\{[^}]*result=\"valid\"")
+				.containsPattern("catalog_jwt_cache_total\\{[^}]*result=\"miss\"")
+				.containsPattern("catalog_auth_user_lookups_total\\{[^}]*result=\"found\"")
+				.contains("hikaricp_connections_acquire_seconds_bucket{")
+				.containsPattern("catalog_hibernate_statements_sum\\{[^}]*uri=\"/api/products/search\"} [1-9]");
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.catalog;
+
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts on an empty database whose schema comes from db/schema.sql alone, as with the fast-startup profile,
+ * and has Hibernate validate it against the entities.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:schema-script;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		// With R2DBC on the class path, Spring Boot runs the script through it
+		"spring.r2dbc.url=r2dbc:h2:mem:///schema-script?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/schema.sql",
+		"catalog.index.enabled=false"})
+@ActiveProfiles("test")
+class SchemaScriptTests {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void createsTheTablesAndIndexesTheEntitiesNeed() {
+		Product product = new Product();
+		product.setName("Scripted shelf");
+		product.setPrice(new BigDecimal("12.50"));
+		Product saved = productService.save(product);
+
+		assertThat(productService.findById(saved.getId())).isPresent();
+		assertThat(jdbcTemplate.queryForObject("select count(*) from users where username = 'admin'", Integer.class))
+				.isEqualTo(1);
+		assertThat(jdbcTemplate.queryForList(
+				"select index_name from information_schema.indexes where table_name = 'products'", String.class))
+				.contains("idx_products_price");
+	}
+}
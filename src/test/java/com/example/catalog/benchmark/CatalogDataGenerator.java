@@ -0,0 +1,89 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic product catalog for benchmarks: the same seed always yields the same names, descriptions
+ * and prices, so results are comparable across commits.
+ */
+final class CatalogDataGenerator {
+
+	static final long SEED = 20250101L;
+
+	private static final String[] ADJECTIVES = {"Classic", "Compact", "Deluxe", "Eco", "Heavy-duty", "Lightweight",
+			"Modern", "Portable", "Premium", "Rustic", "Smart", "Vintage", "Wireless", "Ergonomic", "Foldable"};
+	private static final String[] MATERIALS = {"steel", "oak", "bamboo", "leather", "ceramic", "glass", "cotton",
+			"aluminium", "walnut", "copper", "wool", "linen"};
+	private static final String[] NOUNS = {"kettle", "lamp", "chair", "backpack", "mug", "desk", "speaker", "jacket",
+			"blender", "notebook", "bottle", "headphones", "toaster", "rug", "clock", "pan", "tent", "watch"};
+	private static final String[] PHRASES = {"built to last", "easy to clean", "perfect for everyday use",
+			"ships in recyclable packaging", "backed by a two-year warranty", "designed in small batches",
+			"great as a gift", "suitable for indoor and outdoor use", "with a minimalist finish"};
+
+	private CatalogDataGenerator() {
+	}
+
+	/**
+	 * @return {@code count} new products without IDs, ready to be inserted.
+	 */
+	static List<Product> newProducts(int count, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		List<Product> products = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			products.add(product(random));
+		}
+		return products;
+	}
+
+	/**
+	 * @return {@code count} products with IDs 1..count and fixed timestamps, as if loaded from the database.
+	 */
+	static List<Product> persistedProducts(int count, long seed) {
+		List<Product> products = newProducts(count, seed);
+		LocalDateTime timestamp = LocalDateTime.of(2025, 1, 1, 12, 0);
+		for (int i = 0; i < count; i++) {
+			Product product = products.get(i);
+			product.setId(i + 1L);
+			product.setCreatedAt(timestamp.plusMinutes(i));
+			product.setUpdatedAt(timestamp.plusMinutes(i));
+		}
+		return products;
+	}
+
+	/**
+	 * Inserts {@code count} products through {@link ProductService#insertAll(List)} in batches of 1000.
+	 */
+	static void seed(ProductService productService, int count) {
+		SplittableRandom random = new SplittableRandom(SEED);
+		List<Product> batch = new ArrayList<>(1000);
+		for (int i = 0; i < count; i++) {
+			batch.add(product(random));
+			if (batch.size() == 1000 || i == count - 1) {
+				productService.insertAll(batch);
+				batch = new ArrayList<>(1000);
+			}
+		}
+	}
+
+	private static Product product(SplittableRandom random) {
+		String material = pick(random, MATERIALS);
+		String noun = pick(random, NOUNS);
+		Product product = new Product();
+		product.setName(pick(random, ADJECTIVES) + " " + material + " " + noun);
+		product.setDescription("A " + material + " " + noun + " " + pick(random, PHRASES) + ", "
+				+ pick(random, PHRASES) + ".");
+		product.setPrice(BigDecimal.valueOf(random.nextLong(100, 100_000), 2));
+		return product;
+	}
+
+	private static String pick(SplittableRandom random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.common.auth.entity.User;
+import com.example.catalog.common.auth.repository.UserRepository;
+import com.example.catalog.common.security.jwt.JwtFilter;
+import com.example.catalog.common.security.jwt.JwtUtil;
+import com.example.catalog.common.security.jwt.VerifiedTokenCache;
+import com.example.catalog.common.security.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtFilter} end to end for one authenticated request, with the verified-token cache enabled (hit path)
+ * and disabled (verify + user lookup). The user repository is an in-memory stub, so the miss path excludes
+ * the database round trip it would pay in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+	@Param({"true", "false"})
+	public boolean tokenCache;
+
+	private final FilterChain chain = (request, response) -> { };
+	private JwtFilter filter;
+	private String authorization;
+
+	@Setup
+	public void setUp() {
+		User user = new User("admin", "unused");
+		UserRepository userRepository = Mockito.mock(UserRepository.class);
+		Mockito.when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+		JwtUtil jwtUtil = new JwtUtil(JwtValidationBenchmark.SECRET);
+		VerifiedTokenCache cache = new VerifiedTokenCache(100_000, tokenCache ? Duration.ofMinutes(5) : Duration.ZERO);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		filter = new JwtFilter(jwtUtil, new UserDetailsServiceImpl(userRepository, meterRegistry), cache, meterRegistry);
+		authorization = "Bearer " + jwtUtil.generateToken(user);
+	}
+
+	@Benchmark
+	public Authentication authenticatedRequest() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+		request.addHeader("Authorization", authorization);
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		SecurityContextHolder.clearContext();
+		return authentication;
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.common.auth.entity.User;
+import com.example.catalog.common.security.jwt.JwtUtil;
+import com.example.catalog.common.security.jwt.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Per-request JWT cost: the original path (a fresh parser and key per claim, three verifications per request)
+ * against {@link JwtUtil#verify(String)} with the parser and key built once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+	static final String SECRET = "dGhpcyBpcyBhIHNlY3JldCBrZXkgZm9yIHRlc3Rpbmcgand0IGF1dGhlbnRpY2F0aW9u";
+
+	private JwtUtil jwtUtil;
+	private User user;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = new JwtUtil(SECRET);
+		user = new User("admin", "unused");
+		token = jwtUtil.generateToken(user);
+	}
+
+	/**
+	 * The filter's original work per request: extractUsername, then validateToken (subject + expiration).
+	 */
+	@Benchmark
+	public boolean legacyPerRequest() {
+		String username = legacyExtractClaim(token, Claims::getSubject);
+		return legacyExtractClaim(token, Claims::getSubject).equals(username)
+				&& !legacyExtractClaim(token, Claims::getExpiration).before(new Date());
+	}
+
+	@Benchmark
+	public boolean singleParsePerRequest() {
+		VerifiedToken verified = jwtUtil.verify(token);
+		return verified.subject().equals(user.getUsername());
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken(user);
+	}
+
+	private static <T> T legacyExtractClaim(String token, Function<Claims, T> resolver) {
+		Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		return resolver.apply(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody());
+	}
+}
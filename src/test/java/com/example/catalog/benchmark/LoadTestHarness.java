@@ -0,0 +1,154 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.ECommerceCatalogApplication;
+import com.example.catalog.product.service.ProductService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test of the search API, run once on the default platform-thread pool and once with the
+ * {@code virtual-threads} profile, printing throughput and latency percentiles for each.
+ * <p>
+ * Options: {@code --concurrency=N --seconds=N --products=N}. Any other argument is passed to Spring, e.g.
+ * {@code --spring.datasource.url=jdbc:postgresql://...} to measure against a real database instead of H2.
+ * <pre>
+ *   mvn -Pbenchmark test-compile exec:exec@load-test -Dload.args="--concurrency=1000 --seconds=30"
+ * </pre>
+ */
+public final class LoadTestHarness {
+
+	private record Result(String mode, long ok, long rejected, long failed, double seconds, long[] latenciesNanos) {
+		void print() {
+			Arrays.sort(latenciesNanos);
+			System.out.printf("%-16s %10.1f req/s  ok=%d rejected=%d failed=%d  p50=%.1fms p99=%.1fms max=%.1fms%n",
+					mode, ok / seconds, ok, rejected, failed,
+					percentile(0.50), percentile(0.99), percentile(1.0));
+		}
+
+		private double percentile(double p) {
+			if (latenciesNanos.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(p * latenciesNanos.length) - 1;
+			return latenciesNanos[Math.max(0, index)] / 1_000_000.0;
+		}
+	}
+
+	private LoadTestHarness() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		// Devtools is on the test classpath; its restarter would relaunch the application in a new class loader
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		int concurrency = intOption(args, "--concurrency=", 400);
+		int seconds = intOption(args, "--seconds=", 20);
+		int products = intOption(args, "--products=", 10_000);
+		String[] springArgs = Arrays.stream(args)
+				.filter(arg -> !arg.startsWith("--concurrency=") && !arg.startsWith("--seconds=")
+						&& !arg.startsWith("--products="))
+				.toArray(String[]::new);
+
+		List<Result> results = new ArrayList<>();
+		results.add(run("platform", new String[]{"test"}, springArgs, concurrency, seconds, products));
+		results.add(run("virtual-threads", new String[]{"test", "virtual-threads"}, springArgs, concurrency, seconds,
+				products));
+		System.out.printf("%nconcurrency=%d duration=%ds products=%d%n", concurrency, seconds, products);
+		results.forEach(Result::print);
+	}
+
+	private static Result run(String mode, String[] profiles, String[] springArgs, int concurrency, int seconds,
+							  int products) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ECommerceCatalogApplication.class)
+				.profiles(profiles)
+				// Keep every search on the database path, which is where threads block
+				.properties("server.port=0", "logging.level.root=WARN", "catalog.index.enabled=false")
+				.run(springArgs)) {
+			CatalogDataGenerator.seed(context.getBean(ProductService.class), products);
+			String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.executor(Executors.newVirtualThreadPerTaskExecutor())
+					.connectTimeout(Duration.ofSeconds(5))
+					.build();
+			String authorization = "Bearer " + login(client, baseUrl);
+			HttpRequest search = HttpRequest.newBuilder(URI.create(baseUrl
+							+ "/api/products/search?searchQuery=steel&minPrice=100&maxPrice=200&view=summary"))
+					.header("Authorization", authorization)
+					.build();
+
+			AtomicLong ok = new AtomicLong();
+			AtomicLong rejected = new AtomicLong();
+			AtomicLong failed = new AtomicLong();
+			long start = System.nanoTime();
+			long deadline = start + Duration.ofSeconds(seconds).toNanos();
+			List<Future<long[]>> workers = new ArrayList<>();
+			try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+				for (int i = 0; i < concurrency; i++) {
+					workers.add(executor.submit(() -> {
+						long[] latencies = new long[1024];
+						int count = 0;
+						while (System.nanoTime() < deadline) {
+							long sent = System.nanoTime();
+							try {
+								int status = client.send(search, HttpResponse.BodyHandlers.discarding()).statusCode();
+								if (status == 200) {
+									if (count == latencies.length) {
+										latencies = Arrays.copyOf(latencies, count * 2);
+									}
+									latencies[count++] = System.nanoTime() - sent;
+									ok.incrementAndGet();
+								} else if (status == 503) {
+									rejected.incrementAndGet();
+								} else {
+									failed.incrementAndGet();
+								}
+							} catch (Exception e) {
+								failed.incrementAndGet();
+							}
+						}
+						return Arrays.copyOf(latencies, count);
+					}));
+				}
+			}
+			double elapsed = (System.nanoTime() - start) / 1e9;
+			long[] all = new long[0];
+			for (Future<long[]> worker : workers) {
+				long[] latencies = worker.get();
+				int offset = all.length;
+				all = Arrays.copyOf(all, offset + latencies.length);
+				System.arraycopy(latencies, 0, all, offset, latencies.length);
+			}
+			return new Result(mode, ok.get(), rejected.get(), failed.get(), elapsed, all);
+		}
+	}
+
+	private static String login(HttpClient client, String baseUrl) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/authenticate"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"Frankliu@12345!\"}"))
+				.build();
+		String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+		return body.replaceAll(".*\"jwt\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+	}
+
+	private static int intOption(String[] args, String prefix, int defaultValue) {
+		return Arrays.stream(args)
+				.filter(arg -> arg.startsWith(prefix))
+				.map(arg -> Integer.parseInt(arg.substring(prefix.length())))
+				.findFirst()
+				.orElse(defaultValue);
+	}
+}
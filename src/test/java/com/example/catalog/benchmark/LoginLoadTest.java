@@ -0,0 +1,154 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.ECommerceCatalogApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop login storm against {@code /api/authenticate}, printing successful logins per second, the number
+ * turned away with 503 (clients then wait for the {@code Retry-After}), and latency percentiles of the successful
+ * ones. It runs once with the default admission control and once with an effectively unbounded login queue, to
+ * show the p99 that admission control avoids.
+ * <p>
+ * Options: {@code --concurrency=N --seconds=N}. Any other argument is passed to Spring, e.g.
+ * {@code --catalog.auth.bcrypt.strength=12}.
+ * <pre>
+ *   mvn -Pbenchmark test-compile exec:exec@login-load-test -Dload.args="--concurrency=200 --seconds=20"
+ * </pre>
+ */
+public final class LoginLoadTest {
+
+	private record Result(String mode, long ok, long rejected, long failed, double seconds, long[] latenciesNanos) {
+		void print() {
+			Arrays.sort(latenciesNanos);
+			System.out.printf("%-18s %8.1f logins/s  ok=%d rejected=%d failed=%d  p50=%.1fms p99=%.1fms max=%.1fms%n",
+					mode, ok / seconds, ok, rejected, failed,
+					percentile(0.50), percentile(0.99), percentile(1.0));
+		}
+
+		private double percentile(double p) {
+			if (latenciesNanos.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(p * latenciesNanos.length) - 1;
+			return latenciesNanos[Math.max(0, index)] / 1_000_000.0;
+		}
+	}
+
+	private LoginLoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		// Devtools is on the test classpath; its restarter would relaunch the application in a new class loader
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		int concurrency = intOption(args, "--concurrency=", 200);
+		int seconds = intOption(args, "--seconds=", 20);
+		String[] springArgs = Arrays.stream(args)
+				.filter(arg -> !arg.startsWith("--concurrency=") && !arg.startsWith("--seconds="))
+				.toArray(String[]::new);
+
+		List<Result> results = new ArrayList<>();
+		results.add(run("admission-control", "--catalog.auth.login.queue-per-thread=8", springArgs, concurrency,
+				seconds));
+		results.add(run("unbounded-queue", "--catalog.auth.login.queue-per-thread=100000", springArgs, concurrency,
+				seconds));
+		System.out.printf("%nconcurrency=%d duration=%ds cores=%d%n", concurrency, seconds,
+				Runtime.getRuntime().availableProcessors());
+		results.forEach(Result::print);
+	}
+
+	private static Result run(String mode, String queueOption, String[] springArgs, int concurrency,
+							  int seconds) throws Exception {
+		// As a command-line argument, so it overrides application.properties
+		String[] args = Arrays.copyOf(springArgs, springArgs.length + 1);
+		args[springArgs.length] = queueOption;
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ECommerceCatalogApplication.class)
+				.profiles("test")
+				.properties("server.port=0", "logging.level.root=WARN")
+				.run(args)) {
+			String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.executor(Executors.newVirtualThreadPerTaskExecutor())
+					.connectTimeout(Duration.ofSeconds(5))
+					.build();
+			HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/authenticate"))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"Frankliu@12345!\"}"))
+					.build();
+
+			// Warm up the JIT and the connection pool before measuring; on few cores the first run still pays more
+			for (int i = 0; i < 50; i++) {
+				client.send(login, HttpResponse.BodyHandlers.discarding());
+			}
+
+			AtomicLong ok = new AtomicLong();
+			AtomicLong rejected = new AtomicLong();
+			AtomicLong failed = new AtomicLong();
+			long start = System.nanoTime();
+			long deadline = start + Duration.ofSeconds(seconds).toNanos();
+			List<Future<long[]>> workers = new ArrayList<>();
+			try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+				for (int i = 0; i < concurrency; i++) {
+					workers.add(executor.submit(() -> {
+						long[] latencies = new long[256];
+						int count = 0;
+						while (System.nanoTime() < deadline) {
+							long sent = System.nanoTime();
+							try {
+								HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+								int status = response.statusCode();
+								if (status == 200) {
+									if (count == latencies.length) {
+										latencies = Arrays.copyOf(latencies, count * 2);
+									}
+									latencies[count++] = System.nanoTime() - sent;
+									ok.incrementAndGet();
+								} else if (status == 503) {
+									rejected.incrementAndGet();
+									long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+									Thread.sleep(Duration.ofSeconds(retryAfter));
+								} else {
+									failed.incrementAndGet();
+								}
+							} catch (Exception e) {
+								failed.incrementAndGet();
+							}
+						}
+						return Arrays.copyOf(latencies, count);
+					}));
+				}
+			}
+			double elapsed = (System.nanoTime() - start) / 1e9;
+			long[] all = new long[0];
+			for (Future<long[]> worker : workers) {
+				long[] latencies = worker.get();
+				int offset = all.length;
+				all = Arrays.copyOf(all, offset + latencies.length);
+				System.arraycopy(latencies, 0, all, offset, latencies.length);
+			}
+			return new Result(mode, ok.get(), rejected.get(), failed.get(), elapsed, all);
+		}
+	}
+
+	private static int intOption(String[] args, String prefix, int defaultValue) {
+		return Arrays.stream(args)
+				.filter(arg -> arg.startsWith(prefix))
+				.map(arg -> Integer.parseInt(arg.substring(prefix.length())))
+				.findFirst()
+				.orElse(defaultValue);
+	}
+}
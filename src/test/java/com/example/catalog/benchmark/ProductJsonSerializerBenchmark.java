@@ -0,0 +1,84 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.product.cache.ProductJsonCache;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.json.ProductJsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a product list response with each product serialization strategy. Run with the benchmark profile's
+ * {@code -prof gc} to compare {@code gc.alloc.rate.norm} (bytes allocated per response):
+ * <ul>
+ *   <li>{@code reflective}: Jackson's bean serializer, as before {@link ProductJsonSerializer}</li>
+ *   <li>{@code blackbird}: the bean serializer with generated accessors</li>
+ *   <li>{@code precomputed}: {@link ProductJsonSerializer} with the JSON cache disabled</li>
+ *   <li>{@code cached}: {@link ProductJsonSerializer} with every product's JSON already cached</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductJsonSerializerBenchmark {
+
+	@Param({"10000"})
+	public int size;
+
+	@Param({"reflective", "blackbird", "precomputed", "cached"})
+	public String serializer;
+
+	private ObjectMapper objectMapper;
+	private List<Product> products;
+	private ByteArrayOutputStream out;
+
+	@Setup
+	public void setUp() throws IOException {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		switch (serializer) {
+			case "blackbird" -> builder.modulesToInstall(new BlackbirdModule());
+			case "precomputed" -> builder.serializerByType(Product.class,
+					new ProductJsonSerializer(new ProductJsonCache(0, Duration.ofHours(1))));
+			// Twice the row count, so every product fits the cache's protected segment and a full scan
+			// does not move entries between segments
+			case "cached" -> builder.serializerByType(Product.class,
+					new ProductJsonSerializer(new ProductJsonCache(size * 2, Duration.ofHours(1))));
+			default -> {
+			}
+		}
+		objectMapper = builder.build();
+		products = CatalogDataGenerator.persistedProducts(size, CatalogDataGenerator.SEED);
+		out = new ByteArrayOutputStream(size * 300);
+		// Fills the cache for the "cached" strategy
+		objectMapper.writeValue(out, products);
+	}
+
+	@Benchmark
+	public int serializeProducts() throws IOException {
+		out.reset();
+		objectMapper.writeValue(out, products);
+		return out.size();
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.ECommerceCatalogApplication;
+import com.example.catalog.product.dto.ProductSummary;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.index.ProductSearchIndex;
+import com.example.catalog.product.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService#searchProducts} end to end against an embedded H2 database seeded with a generated
+ * catalog, with the in-memory indexes enabled (index path) and disabled (Specification/SQL path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+	@Param({"true", "false"})
+	public boolean indexEnabled;
+
+	@Param({"10000"})
+	public int catalogSize;
+
+	private ConfigurableApplicationContext context;
+	private ProductService productService;
+
+	@Setup(Level.Trial)
+	public void setUp() throws InterruptedException {
+		context = new SpringApplicationBuilder(ECommerceCatalogApplication.class)
+				.profiles("test")
+				.properties("server.port=0",
+						"logging.level.root=WARN",
+						"catalog.index.enabled=" + indexEnabled)
+				.run();
+		productService = context.getBean(ProductService.class);
+		CatalogDataGenerator.seed(productService, catalogSize);
+		ProductSearchIndex searchIndex = context.getBean(ProductSearchIndex.class);
+		while (indexEnabled && !searchIndex.isReady()) {
+			Thread.sleep(50);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Product> searchText() {
+		return productService.searchProducts("walnut lamp", null, null);
+	}
+
+	@Benchmark
+	public List<Product> searchPriceRange() {
+		return productService.searchProducts(null, 100.0, 110.0);
+	}
+
+	@Benchmark
+	public List<Product> searchTextAndPriceRange() {
+		return productService.searchProducts("steel", 50.0, 150.0);
+	}
+
+	@Benchmark
+	public List<ProductSummary> searchTextSummaries() {
+		return productService.searchProductSummaries("walnut lamp", null, null);
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.product.dto.ProductSummary;
+import com.example.catalog.product.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of product list responses, configured like the application's HTTP message converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+	@Param({"1000", "100000"})
+	public int size;
+
+	private ObjectMapper objectMapper;
+	private List<Product> products;
+	private List<ProductSummary> summaries;
+	private ByteArrayOutputStream out;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		products = CatalogDataGenerator.persistedProducts(size, CatalogDataGenerator.SEED);
+		summaries = products.stream().map(p -> new ProductSummary(p.getId(), p.getName(), p.getPrice())).toList();
+		out = new ByteArrayOutputStream(size * 300);
+	}
+
+	@Benchmark
+	public int serializeProducts() throws IOException {
+		out.reset();
+		objectMapper.writeValue(out, products);
+		return out.size();
+	}
+
+	@Benchmark
+	public int serializeSummaries() throws IOException {
+		out.reset();
+		objectMapper.writeValue(out, summaries);
+		return out.size();
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.product.dto.ProductSummary;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.index.ProductSuggestIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete lookups against {@link ProductSuggestIndex} holding a generated catalog, from a one-letter prefix
+ * (served from a node's cached top entries) to a nearly complete name (a small subtree walked per query), plus
+ * the cost of a price update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSuggestBenchmark {
+
+	@Param({"100000"})
+	public int size;
+
+	@Param({"m", "lamp", "modern st", "eco bamboo kettl"})
+	public String prefix;
+
+	private ProductSuggestIndex index;
+	private List<Product> products;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		index = new ProductSuggestIndex(10);
+		products = CatalogDataGenerator.persistedProducts(size, CatalogDataGenerator.SEED);
+		products.forEach(index::warm);
+		index.markReady();
+	}
+
+	@Benchmark
+	public List<ProductSummary> suggest() {
+		return index.suggest(prefix, 10);
+	}
+
+	@Benchmark
+	public void updatePrice() {
+		Product product = products.get(next++ % products.size());
+		product.setPrice(product.getPrice().add(BigDecimal.ONE));
+		index.onProductSaved(product);
+	}
+}
@@ -0,0 +1,237 @@
+package com.example.catalog.benchmark;
+
+import com.example.catalog.ECommerceCatalogApplication;
+import com.example.catalog.product.repository.ProductRepository;
+import com.example.catalog.product.service.ProductService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Startup time and first-request latency of the packaged application, each run in a fresh JVM: the plain jar with
+ * the default configuration, and the {@code fast-startup} build (Spring AOT, AppCDS archive and the
+ * {@code fast-startup} profile). A run reports the time from launching the JVM until the port answers
+ * ({@code /actuator/health/liveness}) and until the instance is ready ({@code /actuator/health/readiness}), then
+ * the latency of the first login, the first search and the first catalog page.
+ * <p>
+ * Both modes start against the same H2 file database in {@code target/startup-benchmark}, created once with the
+ * default configuration and {@code --products=N} products, and an empty change log, so every run warms its indexes
+ * from the table. The child JVMs' output goes to a log file per run in the same directory.
+ * <p>
+ * Needs the jar built by the {@code fast-startup} Maven profile. Options: {@code --runs=N --products=N}.
+ * <pre>
+ *   mvn -Pfast-startup package -DskipTests
+ *   mvn -Pbenchmark test-compile exec:exec@startup-benchmark -Dstartup.args="--runs=5"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+	private static final Duration TIMEOUT = Duration.ofMinutes(2);
+	private static final String LOGIN_BODY = "{\"username\":\"admin\",\"password\":\"Frankliu@12345!\"}";
+
+	private record Mode(String name, List<String> jvmOptions, List<String> arguments) {
+	}
+
+	private record Run(double liveMs, double readyMs, double loginMs, double searchMs, double pageMs) {
+	}
+
+	private StartupBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		// Devtools is on the test classpath; its restarter would relaunch the seeding run in a new class loader
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		int runs = intOption(args, "--runs=", 5);
+		int products = intOption(args, "--products=", 10_000);
+		Path target = Path.of("target").toAbsolutePath();
+		Path extracted = target.resolve("extracted");
+		String jar;
+		try (Stream<Path> files = Files.list(extracted)) {
+			jar = files.map(path -> path.getFileName().toString())
+					.filter(name -> name.endsWith(".jar"))
+					.findFirst()
+					.orElseThrow(() -> new IllegalStateException("No jar in " + extracted + "; run mvn -Pfast-startup package first"));
+		}
+		if (!Files.exists(extracted.resolve("application.jsa"))) {
+			throw new IllegalStateException("No AppCDS archive in " + extracted + "; run mvn -Pfast-startup package first");
+		}
+		Path work = target.resolve("startup-benchmark");
+		Files.createDirectories(work);
+		String databaseUrl = "jdbc:h2:file:" + work.resolve("catalog") + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+		seed(databaseUrl, products);
+
+		// The archive was recorded with the jar alone on the class path; entries appended after it keep it usable
+		String h2 = Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+		List<String> common = List.of("-cp", jar + File.pathSeparator + h2,
+				ECommerceCatalogApplication.class.getName(),
+				"--spring.datasource.url=" + databaseUrl,
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.datasource.driver-class-name=org.h2.Driver");
+		List<Mode> modes = List.of(
+				new Mode("default", List.of(), List.of()),
+				new Mode("fast-startup",
+						List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"),
+						List.of("--spring.profiles.active=fast-startup",
+								"--spring.jpa.properties.jakarta.persistence.database-product-name=H2")));
+
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(1))
+				.build();
+		Map<String, List<Run>> results = new LinkedHashMap<>();
+		for (int i = 1; i <= runs; i++) {
+			// Modes alternate, so drift on the machine affects both alike
+			for (Mode mode : modes) {
+				Run run = run(client, mode, common, extracted, work, i);
+				System.out.printf("%-13s run %d: live=%.0fms ready=%.0fms first login=%.1fms search=%.1fms page=%.1fms%n",
+						mode.name(), i, run.liveMs(), run.readyMs(), run.loginMs(), run.searchMs(), run.pageMs());
+				results.computeIfAbsent(mode.name(), name -> new ArrayList<>()).add(run);
+			}
+		}
+
+		System.out.printf("%nmedian of %d runs, %d products, cores=%d%n", runs, products,
+				Runtime.getRuntime().availableProcessors());
+		results.forEach((mode, modeRuns) -> System.out.printf(
+				"%-13s live=%.0fms ready=%.0fms first login=%.1fms search=%.1fms page=%.1fms%n", mode,
+				median(modeRuns, Run::liveMs), median(modeRuns, Run::readyMs), median(modeRuns, Run::loginMs),
+				median(modeRuns, Run::searchMs), median(modeRuns, Run::pageMs)));
+	}
+
+	/**
+	 * Creates the schema, the admin user and the products with the default configuration, unless already there.
+	 */
+	private static void seed(String databaseUrl, int products) {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ECommerceCatalogApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties("logging.level.root=WARN", "catalog.index.enabled=false", "catalog.changelog.enabled=false")
+				.run("--spring.datasource.url=" + databaseUrl, "--spring.datasource.username=sa",
+						"--spring.datasource.password=", "--spring.datasource.driver-class-name=org.h2.Driver",
+						"--spring.jpa.show-sql=false")) {
+			long existing = context.getBean(ProductRepository.class).count();
+			if (existing < products) {
+				CatalogDataGenerator.seed(context.getBean(ProductService.class), (int) (products - existing));
+			}
+		}
+	}
+
+	private static Run run(HttpClient client, Mode mode, List<String> common, Path extracted, Path work, int index)
+			throws Exception {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		Path changeLog = Files.createTempDirectory(work, "changelog-");
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(mode.jvmOptions());
+		command.addAll(common);
+		command.addAll(mode.arguments());
+		command.add("--server.port=" + port);
+		command.add("--catalog.changelog.dir=" + changeLog);
+
+		String baseUrl = "http://localhost:" + port;
+		long launched = System.nanoTime();
+		Process process = new ProcessBuilder(command)
+				.directory(extracted.toFile())
+				.redirectErrorStream(true)
+				.redirectOutput(work.resolve(mode.name() + "-" + index + ".log").toFile())
+				.start();
+		try {
+			double live = awaitOk(client, baseUrl + "/actuator/health/liveness", process, launched);
+			double ready = awaitOk(client, baseUrl + "/actuator/health/readiness", process, launched);
+
+			long start = System.nanoTime();
+			HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/authenticate"))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+					.build(), HttpResponse.BodyHandlers.ofString());
+			double loginMs = millisSince(start);
+			expectOk(login, "login");
+			String jwt = login.body().replaceAll(".*\"jwt\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+			String cookie = login.headers().firstValue("Set-Cookie").orElseThrow().split(";", 2)[0];
+
+			start = System.nanoTime();
+			HttpResponse<String> search = client.send(HttpRequest.newBuilder(
+							URI.create(baseUrl + "/api/products/search?searchQuery=lamp&limit=20"))
+					.header("Authorization", "Bearer " + jwt)
+					.build(), HttpResponse.BodyHandlers.ofString());
+			double searchMs = millisSince(start);
+			expectOk(search, "search");
+
+			start = System.nanoTime();
+			HttpResponse<String> page = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/products/main"))
+					.header("Cookie", cookie)
+					.build(), HttpResponse.BodyHandlers.ofString());
+			double pageMs = millisSince(start);
+			expectOk(page, "catalog page");
+			return new Run(live, ready, loginMs, searchMs, pageMs);
+		} finally {
+			process.destroy();
+			process.waitFor();
+			try (Stream<Path> files = Files.walk(changeLog)) {
+				files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+			}
+		}
+	}
+
+	private static double awaitOk(HttpClient client, String url, Process process, long launched) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(1)).build();
+		long deadline = launched + TIMEOUT.toNanos();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("The application exited with " + process.exitValue() + "; see its log");
+			}
+			try {
+				if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+					return millisSince(launched);
+				}
+			} catch (IOException e) {
+				// Not listening yet
+			}
+			Thread.sleep(5);
+		}
+		throw new IllegalStateException(url + " did not answer 200 within " + TIMEOUT);
+	}
+
+	private static void expectOk(HttpResponse<String> response, String what) {
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("The first " + what + " answered " + response.statusCode());
+		}
+	}
+
+	private static double millisSince(long start) {
+		return (System.nanoTime() - start) / 1_000_000.0;
+	}
+
+	private static double median(List<Run> runs, ToDoubleFunction<Run> metric) {
+		double[] values = runs.stream().mapToDouble(metric).sorted().toArray();
+		return values[values.length / 2];
+	}
+
+	private static int intOption(String[] args, String prefix, int defaultValue) {
+		return Arrays.stream(args)
+				.filter(arg -> arg.startsWith(prefix))
+				.map(arg -> Integer.parseInt(arg.substring(prefix.length())))
+				.findFirst()
+				.orElse(defaultValue);
+	}
+}
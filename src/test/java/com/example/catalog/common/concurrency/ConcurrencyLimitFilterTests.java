@@ -0,0 +1,66 @@
+package com.example.catalog.common.concurrency;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitFilterTests {
+
+	private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(20), 429);
+
+	private static MockHttpServletRequest apiRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+		request.setAsyncSupported(true);
+		return request;
+	}
+
+	private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	@Test
+	void rejectsRequestsOverTheLimitWithTheConfiguredStatus() throws Exception {
+		MockHttpServletRequest running = apiRequest();
+		running.startAsync();
+		filter(running);
+
+		MockHttpServletResponse rejected = filter(apiRequest());
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+
+		MockHttpServletResponse notAnApiRequest = filter(new MockHttpServletRequest("GET", "/products/main"));
+		assertThat(notAnApiRequest.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void holdsThePermitOfAnAsyncRequestUntilItCompletes() throws Exception {
+		MockHttpServletRequest async = apiRequest();
+		async.startAsync();
+		filter(async);
+		assertThat(filter(apiRequest()).getStatus()).isEqualTo(429);
+
+		async.getAsyncContext().complete();
+
+		assertThat(filter(apiRequest()).getStatus()).isEqualTo(200);
+		assertThat(filter(apiRequest()).getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void releasesThePermitWhenTheChainThrows() throws Exception {
+		MockHttpServletRequest failing = apiRequest();
+		assertThatThrownBy(() -> filter.doFilter(failing, new MockHttpServletResponse(), (request, response) -> {
+			throw new ServletException("handler failed");
+		})).isInstanceOf(ServletException.class);
+
+		assertThat(filter(apiRequest()).getStatus()).isEqualTo(200);
+	}
+}
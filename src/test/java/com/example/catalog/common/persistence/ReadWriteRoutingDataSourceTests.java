@@ -0,0 +1,163 @@
+package com.example.catalog.common.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between separate in-memory H2 databases, each of which knows its own name.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+	private final List<HikariDataSource> pools = new ArrayList<>();
+	private ReadWriteRoutingDataSource routing;
+	private JdbcTemplate jdbc;
+	private TransactionTemplate reads;
+	private TransactionTemplate writes;
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		routing.close();
+		pools.forEach(HikariDataSource::close);
+	}
+
+	private HikariDataSource database(String name) {
+		HikariDataSource pool = new HikariDataSource();
+		pool.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		pool.setPoolName(name);
+		pool.setMaximumPoolSize(4);
+		JdbcTemplate setup = new JdbcTemplate(pool);
+		setup.execute("create table node (name varchar(20))");
+		setup.update("insert into node values (?)", name);
+		setup.execute("create table replica_lag (seconds double)");
+		setup.update("insert into replica_lag values (0)");
+		pools.add(pool);
+		return pool;
+	}
+
+	private void route(ReadWriteRoutingDataSource.Balancing balancing, Duration lagCheckInterval, String... replicas) {
+		HikariDataSource primary = database("primary");
+		List<HikariDataSource> replicaPools = new ArrayList<>();
+		for (String replica : replicas) {
+			replicaPools.add(database(replica));
+		}
+		routing = new ReadWriteRoutingDataSource(primary, replicaPools, balancing, Duration.ofSeconds(1),
+				lagCheckInterval, "select seconds from replica_lag", new SimpleMeterRegistry());
+		routing.checkLag();
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+		jdbc = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		reads = new TransactionTemplate(transactionManager);
+		reads.setReadOnly(true);
+		writes = new TransactionTemplate(transactionManager);
+	}
+
+	private String read() {
+		return reads.execute(status -> jdbc.queryForObject("select name from node", String.class));
+	}
+
+	private String write() {
+		return writes.execute(status -> {
+			jdbc.update("update node set name = name");
+			return jdbc.queryForObject("select name from node", String.class);
+		});
+	}
+
+	private void as(String user) {
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, null));
+	}
+
+	@Test
+	void sendsReadOnlyTransactionsToTheReplicaExceptRightAfterTheUsersOwnWrite() throws Exception {
+		route(ReadWriteRoutingDataSource.Balancing.ROUND_ROBIN, Duration.ofMillis(200), "replica");
+		as("alice");
+		assertThat(read()).isEqualTo("replica");
+		assertThat(write()).isEqualTo("primary");
+		assertThat(jdbc.queryForObject("select name from node", String.class)).isEqualTo("primary");
+
+		assertThat(read()).isEqualTo("primary");
+		as("bob");
+		assertThat(read()).isEqualTo("replica");
+
+		Thread.sleep(300);
+		as("alice");
+		assertThat(read()).isEqualTo("replica");
+	}
+
+	@Test
+	void cacheFillsSkipTheReplicaRightAfterAnyUsersWrite() throws Exception {
+		route(ReadWriteRoutingDataSource.Balancing.ROUND_ROBIN, Duration.ofMillis(200), "replica");
+		as("alice");
+		assertThat(write()).isEqualTo("primary");
+
+		as("bob");
+		assertThat(read()).isEqualTo("replica");
+		assertThat(ReadWriteRoutingDataSource.fillingCache(this::read)).isEqualTo("primary");
+
+		Thread.sleep(300);
+		assertThat(ReadWriteRoutingDataSource.fillingCache(this::read)).isEqualTo("replica");
+	}
+
+	@Test
+	void fallsBackToThePrimaryWhileTheReplicaLagsOrIsDown() {
+		route(ReadWriteRoutingDataSource.Balancing.ROUND_ROBIN, Duration.ofMinutes(1), "replica");
+		JdbcTemplate replica = new JdbcTemplate(pools.get(1));
+
+		replica.update("update replica_lag set seconds = 5");
+		routing.checkLag();
+		assertThat(read()).isEqualTo("primary");
+
+		replica.update("update replica_lag set seconds = 0.5");
+		routing.checkLag();
+		assertThat(read()).isEqualTo("replica");
+
+		pools.get(1).close();
+		assertThat(read()).isEqualTo("primary");
+		routing.checkLag();
+		assertThat(read()).isEqualTo("primary");
+	}
+
+	@Test
+	void balancesReadsAcrossTheReplicas() {
+		route(ReadWriteRoutingDataSource.Balancing.ROUND_ROBIN, Duration.ofMinutes(1), "east", "west");
+		assertThat(List.of(read(), read(), read(), read())).containsExactly("east", "west", "east", "west");
+
+		new JdbcTemplate(pools.get(1)).update("update replica_lag set seconds = 30");
+		routing.checkLag();
+		assertThat(List.of(read(), read(), read())).containsOnly("west");
+	}
+
+	@Test
+	void leastConnectionsPicksTheLessBusyReplica() {
+		route(ReadWriteRoutingDataSource.Balancing.LEAST_CONNECTIONS, Duration.ofMinutes(1), "east", "west");
+		String inner = reads.execute(outer -> {
+			String busy = jdbc.queryForObject("select name from node", String.class);
+			// A second transaction on another thread while the first holds its connection
+			String[] other = new String[1];
+			Thread thread = Thread.ofPlatform().start(() -> other[0] = read());
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+			assertThat(busy).isEqualTo("east");
+			return other[0];
+		});
+		assertThat(inner).isEqualTo("west");
+	}
+}
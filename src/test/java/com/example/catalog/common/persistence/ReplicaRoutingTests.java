@@ -0,0 +1,69 @@
+package com.example.catalog.common.persistence;
+
+import com.example.catalog.common.auth.repository.UserRepository;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The replica is a second pool on the test database, so the application sees the same data through both and
+ * the routing shows in the {@code catalog.datasource.connections} counters.
+ */
+@SpringBootTest(properties = {
+		"catalog.index.enabled=false",
+		"catalog.datasource.replicas.urls=${spring.datasource.url}",
+		"catalog.datasource.replicas.lag-query=select 0",
+		"catalog.datasource.replicas.lag-check-interval=200ms"})
+@ActiveProfiles("test")
+class ReplicaRoutingTests {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void readsGoToTheReplicaAndTheWritersNextReadToThePrimary() throws Exception {
+		Thread.sleep(300);
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("replica-tester", null));
+		try {
+			double replica = connections("replica-0");
+			assertThat(userRepository.findByUsername("admin")).isPresent();
+			productService.searchProducts("nothing like this", null, null);
+			productService.findPage(null, 10);
+			assertThat(connections("replica-0")).isEqualTo(replica + 3);
+
+			Product product = new Product();
+			product.setName("Replicated vase");
+			product.setPrice(new BigDecimal("15.00"));
+			double primary = connections("primary");
+			Long id = productService.save(product).getId();
+			assertThat(connections("primary")).isGreaterThan(primary);
+
+			replica = connections("replica-0");
+			assertThat(productService.searchProducts("replicated vase", null, null))
+					.extracting(Product::getId).containsExactly(id);
+			assertThat(connections("replica-0")).isEqualTo(replica);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	private double connections(String target) {
+		return meterRegistry.get("catalog.datasource.connections").tag("target", target).counter().count();
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.catalog.common.security.jwt;
+
+import com.example.catalog.common.auth.entity.User;
+import com.example.catalog.common.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "catalog.index.enabled=false")
+@ActiveProfiles("test")
+class UserTokenEvictionListenerTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private VerifiedTokenCache verifiedTokenCache;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void dropsCachedTokensWhenTheUserChangesTheirPassword() {
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+		User user = userRepository.save(new User("changes-password", encoder.encode("old secret")));
+		User other = userRepository.save(new User("keeps-password", encoder.encode("secret")));
+		String token = jwtUtil.generateToken(user);
+		String otherToken = jwtUtil.generateToken(other);
+		verifiedTokenCache.put(token, user, jwtUtil.verify(token).expiration());
+		verifiedTokenCache.put(otherToken, other, jwtUtil.verify(otherToken).expiration());
+		assertThat(verifiedTokenCache.get(token)).isNotNull();
+
+		User stored = userRepository.findByUsername("changes-password").orElseThrow();
+		stored.setPassword(encoder.encode("new secret"));
+		userRepository.save(stored);
+
+		assertThat(verifiedTokenCache.get(token)).isNull();
+		assertThat(verifiedTokenCache.get(otherToken)).isNotNull();
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.catalog.common.security.jwt;
+
+import com.example.catalog.common.auth.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTests {
+
+	private static final Instant IN_AN_HOUR = Instant.now().plus(Duration.ofHours(1));
+
+	@Test
+	void returnsThePrincipalOfCachedTokensOnly() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10, Duration.ofMinutes(5));
+		UserDetails alice = new User("alice", "hash");
+		cache.put("token-a", alice, IN_AN_HOUR);
+
+		assertThat(cache.get("token-a")).isSameAs(alice);
+		assertThat(cache.get("token-b")).isNull();
+	}
+
+	@Test
+	void dropsTokensOnceTheyOrTheMaxTtlExpire() throws Exception {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10, Duration.ofMillis(200));
+		UserDetails alice = new User("alice", "hash");
+		cache.put("expired", alice, Instant.now().minusSeconds(1));
+		cache.put("short-lived", alice, Instant.now().plusMillis(100));
+		cache.put("capped", alice, IN_AN_HOUR);
+
+		assertThat(cache.get("expired")).isNull();
+		assertThat(cache.get("short-lived")).isSameAs(alice);
+		Thread.sleep(120);
+		assertThat(cache.get("short-lived")).isNull();
+		assertThat(cache.get("capped")).isSameAs(alice);
+		Thread.sleep(100);
+		assertThat(cache.get("capped")).isNull();
+	}
+
+	@Test
+	void evictsTheLeastRecentlyUsedTokenWhenFull() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(3, Duration.ofMinutes(5));
+		UserDetails alice = new User("alice", "hash");
+		cache.put("token-1", alice, IN_AN_HOUR);
+		cache.put("token-2", alice, IN_AN_HOUR);
+		cache.put("token-3", alice, IN_AN_HOUR);
+		cache.get("token-1");
+
+		cache.put("token-4", alice, IN_AN_HOUR);
+
+		assertThat(cache.size()).isEqualTo(3);
+		assertThat(cache.get("token-4")).isSameAs(alice);
+		assertThat(cache.get("token-1")).isSameAs(alice);
+		assertThat(cache.get("token-2")).isNull();
+	}
+
+	@Test
+	void evictsEveryTokenOfAUser() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10, Duration.ofMinutes(5));
+		UserDetails alice = new User("alice", "hash");
+		UserDetails bob = new User("bob", "hash");
+		cache.put("alice-1", alice, IN_AN_HOUR);
+		cache.put("alice-2", alice, IN_AN_HOUR);
+		cache.put("bob-1", bob, IN_AN_HOUR);
+
+		cache.evictUser("alice");
+
+		assertThat(cache.get("alice-1")).isNull();
+		assertThat(cache.get("alice-2")).isNull();
+		assertThat(cache.get("bob-1")).isSameAs(bob);
+	}
+}
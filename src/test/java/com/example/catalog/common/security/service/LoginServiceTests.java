@@ -0,0 +1,118 @@
+package com.example.catalog.common.security.service;
+
+import com.example.catalog.common.auth.entity.User;
+import com.example.catalog.common.auth.repository.UserRepository;
+import com.example.catalog.common.exception.LoginThrottledException;
+import com.example.catalog.common.security.jwt.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.as;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "catalog.index.enabled=false")
+@ActiveProfiles("test")
+class LoginServiceTests {
+
+	@Autowired
+	private LoginService loginService;
+
+	@Autowired
+	private UserDetailsServiceImpl userDetailsService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void issuesTokensAndUpgradesLowCostHashes() throws Exception {
+		userRepository.save(new User("low-cost", new BCryptPasswordEncoder(4).encode("secret")));
+
+		String jwt = loginService.login("low-cost", "secret").get(10, TimeUnit.SECONDS);
+
+		assertThat(jwtUtil.verify(jwt).subject()).isEqualTo("low-cost");
+		String upgraded = userRepository.findByUsername("low-cost").orElseThrow().getPassword();
+		assertThat(upgraded).startsWith("$2a$10$");
+		assertThat(new BCryptPasswordEncoder().matches("secret", upgraded)).isTrue();
+	}
+
+	@Test
+	void rejectsWrongPasswordsAndUnknownUsers() {
+		assertThat(loginService.login("admin", "wrong")).failsWithin(10, TimeUnit.SECONDS)
+				.withThrowableThat().withCauseInstanceOf(BadCredentialsException.class);
+		assertThat(loginService.login("nobody", "wrong")).failsWithin(10, TimeUnit.SECONDS)
+				.withThrowableThat().withCauseInstanceOf(BadCredentialsException.class);
+	}
+
+	@Test
+	void encodesTheDummyHashOnTheLoginPoolNotAtStartup() {
+		List<String> encodedOn = new CopyOnWriteArrayList<>();
+		PasswordEncoder recording = new BCryptPasswordEncoder(4) {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				encodedOn.add(Thread.currentThread().getName());
+				return super.encode(rawPassword);
+			}
+		};
+		LoginService lazy = new LoginService(userDetailsService, userRepository, recording, jwtUtil,
+				new SimpleMeterRegistry(), 1, 1);
+		try {
+			assertThat(encodedOn).isEmpty();
+
+			assertThat(lazy.login("nobody", "wrong")).failsWithin(10, TimeUnit.SECONDS)
+					.withThrowableThat().withCauseInstanceOf(BadCredentialsException.class);
+			assertThat(lazy.login("nobody", "again")).failsWithin(10, TimeUnit.SECONDS)
+					.withThrowableThat().withCauseInstanceOf(BadCredentialsException.class);
+
+			assertThat(encodedOn).singleElement(as(InstanceOfAssertFactories.STRING)).startsWith("login-bcrypt-");
+		} finally {
+			lazy.close();
+		}
+	}
+
+	@Test
+	void turnsLoginsAwayWhenThePoolAndQueueAreFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return false;
+			}
+		};
+		LoginService throttled = new LoginService(userDetailsService, userRepository, blocking, jwtUtil,
+				new SimpleMeterRegistry(), 1, 1);
+		try {
+			CompletableFuture<String> running = throttled.login("admin", "a");
+			CompletableFuture<String> queued = throttled.login("admin", "b");
+
+			assertThatThrownBy(() -> throttled.login("admin", "c")).isInstanceOf(LoginThrottledException.class);
+
+			release.countDown();
+			assertThat(running).failsWithin(10, TimeUnit.SECONDS);
+			assertThat(queued).failsWithin(10, TimeUnit.SECONDS);
+		} finally {
+			throttled.close();
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.example.catalog.common.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "catalog.startup.background-seeding=true")
+@ActiveProfiles("test")
+class StartupWarmUpTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void reportsOutOfServiceUntilEveryTaskIsDone() {
+		StartupWarmUp warmUp = new StartupWarmUp();
+		warmUp.begin("indexes");
+		warmUp.begin("page");
+		warmUp.done("indexes");
+		assertThat(warmUp.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+		assertThat(warmUp.health().getDetails()).containsEntry("pending", List.of("page"));
+		warmUp.done("page");
+		assertThat(warmUp.health().getStatus()).isEqualTo(Status.UP);
+	}
+
+	@Test
+	void becomesReadyOnceWarmAndTheAdminWasSeededInTheBackground() throws Exception {
+		RestClient client = RestClient.create("http://localhost:" + port);
+		HttpStatusCode readiness = null;
+		for (int attempt = 0; attempt < 300; attempt++) {
+			readiness = client.get().uri("/actuator/health/readiness")
+					.exchange((request, response) -> response.getStatusCode());
+			if (readiness.is2xxSuccessful()) {
+				break;
+			}
+			Thread.sleep(100);
+		}
+		assertThat(readiness.is2xxSuccessful()).isTrue();
+
+		HttpStatusCode login = client.post().uri("/api/authenticate")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(Map.of("username", "admin", "password", "Frankliu@12345!"))
+				.exchange((request, response) -> response.getStatusCode());
+		assertThat(login.is2xxSuccessful()).isTrue();
+	}
+}
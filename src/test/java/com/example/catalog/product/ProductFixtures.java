@@ -0,0 +1,26 @@
+package com.example.catalog.product;
+
+import com.example.catalog.product.entity.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * Unsaved products for tests, described by their name.
+ */
+public final class ProductFixtures {
+
+	private ProductFixtures() {
+	}
+
+	public static Product product(String name) {
+		return product(name, "10.00");
+	}
+
+	public static Product product(String name, String price) {
+		Product product = new Product();
+		product.setName(name);
+		product.setDescription(name);
+		product.setPrice(new BigDecimal(price));
+		return product;
+	}
+}
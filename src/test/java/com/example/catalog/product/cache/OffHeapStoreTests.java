@@ -0,0 +1,67 @@
+package com.example.catalog.product.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapStoreTests {
+
+	private static final long LATER = System.nanoTime() + 60_000_000_000L;
+
+	private static byte[] bytes(int length, int fill) {
+		byte[] bytes = new byte[length];
+		Arrays.fill(bytes, (byte) fill);
+		return bytes;
+	}
+
+	@Test
+	void storesValuesAcrossBlocksAndReusesFreedOnes() {
+		OffHeapStore store = new OffHeapStore(64, 16);
+		store.put(1L, bytes(40, 1), LATER);
+		store.put(2L, bytes(16, 2), LATER);
+		assertThat(store.freeBytes()).isEqualTo(0);
+
+		OffHeapStore.Value first = store.take(1L);
+		assertThat(first.bytes()).isEqualTo(bytes(40, 1));
+		assertThat(first.expiresAtNanos()).isEqualTo(LATER);
+		assertThat(store.take(1L)).isNull();
+		assertThat(store.freeBytes()).isEqualTo(48);
+
+		store.put(3L, bytes(33, 3), LATER);
+		store.remove(2L);
+		assertThat(store.take(3L).bytes()).isEqualTo(bytes(33, 3));
+		assertThat(store.freeBytes()).isEqualTo(64);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntriesToMakeRoom() {
+		OffHeapStore store = new OffHeapStore(64, 16);
+		store.put(1L, bytes(16, 1), LATER);
+		store.put(2L, bytes(16, 2), LATER);
+		store.put(3L, bytes(32, 3), LATER);
+		store.put(1L, bytes(16, 4), LATER);
+
+		store.put(4L, bytes(20, 5), LATER);
+
+		assertThat(store.size()).isEqualTo(2);
+		assertThat(store.take(2L)).isNull();
+		assertThat(store.take(3L)).isNull();
+		assertThat(store.take(1L).bytes()).isEqualTo(bytes(16, 4));
+		assertThat(store.take(4L).bytes()).isEqualTo(bytes(20, 5));
+	}
+
+	@Test
+	void skipsValuesLargerThanTheStoreAndExpiredOnes() {
+		OffHeapStore store = new OffHeapStore(64, 16);
+		store.put(1L, bytes(65, 1), LATER);
+		store.put(2L, bytes(8, 2), System.nanoTime() - 1);
+
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(store.take(2L)).isNull();
+		assertThat(store.freeBytes()).isEqualTo(64);
+		assertThatThrownBy(() -> new OffHeapStore(1L << 32, 16)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
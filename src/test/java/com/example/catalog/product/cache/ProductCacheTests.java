@@ -0,0 +1,128 @@
+package com.example.catalog.product.cache;
+
+import com.example.catalog.product.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheTests {
+
+	private static Product product(long id) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName("product " + id);
+		product.setPrice(BigDecimal.ONE);
+		product.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+		return product;
+	}
+
+	private static ProductCache cache(int maxSize, boolean offHeap) {
+		return cache(maxSize, Duration.ofMinutes(1), offHeap);
+	}
+
+	private static ProductCache cache(int maxSize, Duration ttl, boolean offHeap) {
+		return new ProductCache(new ObjectMapper().registerModule(new JavaTimeModule()),
+				maxSize, ttl, offHeap, 1 << 20);
+	}
+
+	@Test
+	void readsThroughOnceAndInvalidatesOnWrite() {
+		ProductCache cache = cache(10, false);
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(1L, () -> { loads.incrementAndGet(); return product(1); });
+		Product hit = cache.get(1L, () -> { loads.incrementAndGet(); return product(1); });
+		hit.setName("mutated by caller");
+		assertThat(cache.get(1L, () -> null).getName()).isEqualTo("product 1");
+		assertThat(loads).hasValue(1);
+
+		cache.onProductSaved(product(1));
+		cache.get(1L, () -> { loads.incrementAndGet(); return product(1); });
+		assertThat(loads).hasValue(2);
+		assertThat(cache.stats().heapHits()).isEqualTo(2);
+		assertThat(cache.stats().misses()).isEqualTo(2);
+	}
+
+	@Test
+	void spillsEvictedEntriesToOffHeapTier() {
+		ProductCache cache = cache(5, true);
+		for (long id = 0; id < 20; id++) {
+			long productId = id;
+			cache.get(productId, () -> product(productId));
+		}
+		assertThat(cache.stats().evictions()).isEqualTo(15);
+		assertThat(cache.stats().offHeapSize()).isEqualTo(15);
+
+		Product fromOffHeap = cache.get(0L, () -> null);
+		assertThat(fromOffHeap.getName()).isEqualTo("product 0");
+		assertThat(fromOffHeap.getUpdatedAt()).isEqualTo(LocalDateTime.of(2025, 1, 1, 0, 0));
+		assertThat(cache.stats().offHeapHits()).isEqualTo(1);
+	}
+
+	@Test
+	void deserializesOffHeapEntriesWithoutHoldingTheCache() throws Exception {
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ObjectMapper slowReader = new ObjectMapper() {
+			@Override
+			public <T> T readValue(byte[] src, Class<T> valueType) throws IOException {
+				reading.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.readValue(src, valueType);
+			}
+		};
+		slowReader.registerModule(new JavaTimeModule());
+		ProductCache cache = new ProductCache(slowReader, 1, Duration.ofMinutes(1), true, 1 << 20);
+		cache.get(1L, () -> product(1));
+		cache.get(2L, () -> product(2));
+
+		CompletableFuture<Product> promoted = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> null));
+		assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<Product> hit = CompletableFuture.supplyAsync(() -> cache.get(2L, () -> null));
+
+		assertThat(hit.get(5, TimeUnit.SECONDS).getName()).isEqualTo("product 2");
+		release.countDown();
+		assertThat(promoted.get(5, TimeUnit.SECONDS).getName()).isEqualTo("product 1");
+		assertThat(cache.stats().offHeapHits()).isEqualTo(1);
+	}
+
+	@Test
+	void keepsTheOriginalExpiryAcrossTiers() throws Exception {
+		// Spill once first, so loading Jackson does not eat into the TTL below
+		ProductCache warm = cache(1, true);
+		warm.get(1L, () -> product(1));
+		warm.get(2L, () -> product(2));
+		warm.get(1L, () -> null);
+
+		ProductCache cache = cache(1, Duration.ofMillis(500), true);
+		AtomicInteger loads = new AtomicInteger();
+		cache.get(1L, () -> { loads.incrementAndGet(); return product(1); });
+		cache.get(2L, () -> product(2));
+		assertThat(cache.stats().offHeapSize()).isEqualTo(1);
+
+		Thread.sleep(300);
+		cache.get(1L, () -> { loads.incrementAndGet(); return product(1); });
+		assertThat(cache.stats().offHeapHits()).isEqualTo(1);
+		cache.get(3L, () -> product(3));
+		Thread.sleep(300);
+
+		cache.get(1L, () -> { loads.incrementAndGet(); return product(1); });
+		assertThat(loads).hasValue(2);
+		assertThat(cache.stats().offHeapHits()).isEqualTo(1);
+	}
+}
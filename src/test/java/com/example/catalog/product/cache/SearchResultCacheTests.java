@@ -0,0 +1,66 @@
+package com.example.catalog.product.cache;
+
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTests {
+
+	private final SearchResultCache cache = new SearchResultCache(10, Duration.ofMinutes(1), 100);
+
+	private static SearchResultCache.Key key(String query, Double minPrice, Double maxPrice) {
+		return SearchResultCache.key(query, minPrice, maxPrice, null, false, Integer.MAX_VALUE);
+	}
+
+	private static Product product(long id, String name, String price) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName(name);
+		product.setDescription("");
+		product.setPrice(new BigDecimal(price));
+		return product;
+	}
+
+	@Test
+	void evictsOnlyTheSearchesAChangedProductMatchesNowOrBefore() {
+		SearchResultCache.Key red = key("  Red ", null, null);
+		SearchResultCache.Key blue = key("blue", null, null);
+		SearchResultCache.Key cheap = key(null, 0.0, 10.0);
+		cache.put(red, new long[]{2, 1}, cache.epoch());
+		cache.put(blue, new long[]{3}, cache.epoch());
+		cache.put(cheap, new long[]{4}, cache.epoch());
+		assertThat(cache.get(key("red", null, null))).containsExactly(2, 1);
+
+		cache.onProductSaved(product(5, "Green shoe", "50.00"));
+		assertThat(cache.get(red)).isNotNull();
+		assertThat(cache.get(blue)).isNotNull();
+		assertThat(cache.get(cheap)).isNotNull();
+
+		cache.onProductSaved(product(6, "Red hat", "5.00"));
+		assertThat(cache.get(red)).isNull();
+		assertThat(cache.get(blue)).isNotNull();
+		assertThat(cache.get(cheap)).isNull();
+
+		// No longer blue, but it was in the results
+		cache.onProductSaved(product(3, "Grey scarf", "20.00"));
+		assertThat(cache.get(blue)).isNull();
+	}
+
+	@Test
+	void skipsResultsOfASearchThatRacedWithAMatchingWrite() {
+		SearchResultCache.Key red = key("red", null, null);
+		SearchResultCache.Key blue = key("blue", null, null);
+		long epoch = cache.epoch();
+
+		cache.onProductSaved(product(1, "Red hat", "5.00"));
+		cache.put(red, new long[]{}, epoch);
+		cache.put(blue, new long[]{2}, epoch);
+
+		assertThat(cache.get(red)).isNull();
+		assertThat(cache.get(blue)).containsExactly(2);
+	}
+}
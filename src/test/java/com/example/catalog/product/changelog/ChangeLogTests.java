@@ -0,0 +1,211 @@
+package com.example.catalog.product.changelog;
+
+import com.example.catalog.product.dto.CatalogHighWaterMark;
+import com.example.catalog.product.dto.ProductChangeFeed;
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeLogTests {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void restartReplaysTheLogIntoTheSnapshot() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		ChangeLog log = open(snapshot, DataSize.ofMegabytes(1));
+		log.bootstrap(product(1L, "Lamp", "10.00"));
+		log.bootstrap(product(2L, "Desk", "120.50"));
+		log.markBootstrapped();
+		log.onProductSaved(product(1L, "Lamp", "12.00"));
+		log.onProductDeleted(2L);
+		log.onProductSaved(product(3L, "Chair é中", "45"));
+		log.close();
+
+		CatalogSnapshot replayed = new CatalogSnapshot();
+		ChangeLog reopened = open(replayed, DataSize.ofMegabytes(1));
+
+		assertThat(snapshot.isReady()).isTrue();
+		assertThat(replayed.isReady()).isTrue();
+		assertThat(reopened.isBootstrapped()).isTrue();
+		assertThat(replayed.version()).isEqualTo(5);
+		assertThat(products(replayed)).isEqualTo(products(snapshot));
+		assertThat(products(replayed)).extracting(Product::getId).containsExactly(1L, 3L);
+		assertThat(products(replayed).getFirst().getPrice()).isEqualByComparingTo("12.00");
+		assertThat(products(replayed).getLast().getName()).isEqualTo("Chair é中");
+
+		ProductChangeFeed feed = reopened.changesSince(2, null);
+		assertThat(feed.changes()).extracting(ChangeEvent::version).containsExactly(3L, 4L, 5L);
+		assertThat(feed.changes()).extracting(ChangeEvent::type)
+				.containsExactly(ChangeEvent.Type.SAVED, ChangeEvent.Type.DELETED, ChangeEvent.Type.SAVED);
+		assertThat(feed.changes().get(1).product()).isNull();
+		assertThat(feed.version()).isEqualTo(5);
+		assertThat(feed.hasMore()).isFalse();
+		assertThat(feed.logId()).isEqualTo(log.changesSince(0, 1).logId());
+	}
+
+	@Test
+	void readsAcrossSegmentsInBatches() {
+		ChangeLog log = open(new CatalogSnapshot(), DataSize.ofKilobytes(1));
+		log.markBootstrapped();
+		for (long id = 1; id <= 300; id++) {
+			log.onProductSaved(product(id, "Product " + id, "1.00"));
+		}
+
+		ProductChangeFeed batch = log.changesSince(130, 20);
+		List<Long> versions = new ArrayList<>();
+		for (ProductChangeFeed feed = log.changesSince(0, 7); ; feed = log.changesSince(feed.version(), 7)) {
+			feed.changes().forEach(change -> versions.add(change.version()));
+			if (!feed.hasMore()) {
+				break;
+			}
+		}
+
+		assertThat(segmentCount()).isGreaterThan(10);
+		assertThat(batch.changes()).extracting(ChangeEvent::id).first().isEqualTo(131L);
+		assertThat(batch.changes()).hasSize(20);
+		assertThat(batch.version()).isEqualTo(150);
+		assertThat(batch.hasMore()).isTrue();
+		assertThat(versions).hasSize(300).isSorted().doesNotHaveDuplicates();
+		assertThat(log.changesSince(300, null).changes()).isEmpty();
+
+		CatalogSnapshot replayed = new CatalogSnapshot();
+		open(replayed, DataSize.ofKilobytes(1));
+		assertThat(replayed.version()).isEqualTo(300);
+		assertThat(replayed.size()).isEqualTo(300);
+	}
+
+	@Test
+	void discardsALogWhoseBootstrapNeverFinished() {
+		ChangeLog log = open(new CatalogSnapshot(), DataSize.ofMegabytes(1));
+		log.bootstrap(product(1L, "Lamp", "10.00"));
+
+		CatalogSnapshot replayed = new CatalogSnapshot();
+		ChangeLog reopened = open(replayed, DataSize.ofMegabytes(1));
+
+		assertThat(reopened.isBootstrapped()).isFalse();
+		assertThat(replayed.isReady()).isFalse();
+		assertThat(replayed.size()).isZero();
+		assertThat(reopened.changesSince(0, null).changes()).isEmpty();
+		assertThat(reopened.changesSince(0, null).logId()).isNotEqualTo(log.changesSince(0, null).logId());
+	}
+
+	@Test
+	void rebootstrapStartsANewLogThatLaterRestartsReplay() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		ChangeLog log = open(snapshot, DataSize.ofKilobytes(1));
+		for (long id = 1; id <= 20; id++) {
+			log.bootstrap(product(id, "Product " + id, "1.00"));
+		}
+		log.markBootstrapped();
+		String oldLogId = log.changesSince(0, null).logId();
+		assertThat(snapshot.highWaterMark())
+				.isEqualTo(new CatalogHighWaterMark(20, LocalDateTime.of(2025, 3, 2, 10, 0)));
+
+		log.rebootstrap();
+		assertThat(log.isBootstrapped()).isFalse();
+		assertThat(snapshot.isReady()).isFalse();
+		assertThat(snapshot.highWaterMark()).isEqualTo(new CatalogHighWaterMark(0, null));
+		assertThat(segmentCount()).isEqualTo(1);
+		log.bootstrap(product(7L, "Lamp", "10.00"));
+		log.markBootstrapped();
+
+		ProductChangeFeed feed = log.changesSince(0, null);
+		assertThat(feed.logId()).isNotEqualTo(oldLogId);
+		assertThat(feed.changes()).extracting(ChangeEvent::id).containsExactly(7L);
+		CatalogSnapshot replayed = new CatalogSnapshot();
+		open(replayed, DataSize.ofKilobytes(1));
+		assertThat(replayed.isReady()).isTrue();
+		assertThat(products(replayed)).extracting(Product::getId).containsExactly(7L);
+	}
+
+	@Test
+	void bootstrapNeverOverwritesALiveWrite() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		ChangeLog log = open(snapshot, DataSize.ofMegabytes(1));
+		log.onProductSaved(product(1L, "Lamp", "12.00"));
+		log.onProductDeleted(2L);
+
+		log.bootstrap(product(1L, "Lamp", "10.00"));
+		log.bootstrap(product(2L, "Desk", "120.50"));
+		log.bootstrap(product(3L, "Chair", "45.00"));
+		log.markBootstrapped();
+		log.bootstrap(product(4L, "Shelf", "30.00"));
+
+		assertThat(products(snapshot)).extracting(Product::getId).containsExactly(1L, 3L);
+		assertThat(products(snapshot).getFirst().getPrice()).isEqualByComparingTo("12.00");
+		assertThat(snapshot.version()).isEqualTo(3);
+	}
+
+	@Test
+	void replayStopsAtATornRecordAndWritingResumesThere() throws IOException {
+		ChangeLog log = open(new CatalogSnapshot(), DataSize.ofKilobytes(64));
+		log.markBootstrapped();
+		log.onProductSaved(product(1L, "Lamp", "10.00"));
+		log.onProductSaved(product(2L, "Desk", "120.50"));
+		log.close();
+		corruptLastByte(directory.resolve("changes-000000.log"));
+
+		CatalogSnapshot replayed = new CatalogSnapshot();
+		ChangeLog reopened = open(replayed, DataSize.ofKilobytes(64));
+		reopened.onProductSaved(product(3L, "Chair", "45.00"));
+
+		assertThat(replayed.isReady()).isTrue();
+		assertThat(products(replayed)).extracting(Product::getId).containsExactly(1L, 3L);
+		assertThat(reopened.changesSince(0, null).changes()).extracting(ChangeEvent::version).containsExactly(1L, 2L);
+		assertThat(open(new CatalogSnapshot(), DataSize.ofKilobytes(64)).changesSince(1, null).changes())
+				.extracting(ChangeEvent::id).containsExactly(3L);
+	}
+
+	private ChangeLog open(CatalogSnapshot snapshot, DataSize segmentSize) {
+		return new ChangeLog(snapshot, true, directory.toString(), segmentSize, 100);
+	}
+
+	private long segmentCount() {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void corruptLastByte(Path segment) throws IOException {
+		byte[] bytes = Files.readAllBytes(segment);
+		int last = bytes.length - 1;
+		while (bytes[last] == 0) {
+			last--;
+		}
+		bytes[last] ^= 0x5a;
+		Files.write(segment, bytes);
+	}
+
+	private static List<Product> products(CatalogSnapshot snapshot) {
+		List<Product> products = new ArrayList<>();
+		snapshot.forEach(products::add);
+		return products;
+	}
+
+	private static Product product(Long id, String name, String price) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName(name);
+		product.setDescription(id % 2 == 0 ? null : name + " description");
+		product.setPrice(new BigDecimal(price));
+		product.setCreatedAt(LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_456_000));
+		product.setUpdatedAt(LocalDateTime.of(2025, 3, 2, 10, 0));
+		return product;
+	}
+}
@@ -0,0 +1,48 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.RestClient;
+
+import java.util.Map;
+
+/**
+ * Runs the application on a random port and logs in as the admin before each test. Subclasses that add no
+ * properties share one application context; those that need others add them with {@link TestPropertySource},
+ * which overrides the ones here.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "catalog.index.enabled=false")
+@ActiveProfiles("test")
+abstract class ProductApiTestSupport {
+
+	@LocalServerPort
+	protected int port;
+
+	@Autowired
+	protected ProductService productService;
+
+	/**
+	 * Sends the admin's JWT with every request.
+	 */
+	protected RestClient client;
+
+	@BeforeEach
+	void logIn() {
+		RestClient anonymous = RestClient.create("http://localhost:" + port);
+		Map<?, ?> login = anonymous.post().uri("/api/authenticate")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(Map.of("username", "admin", "password", "Frankliu@12345!"))
+				.retrieve()
+				.body(Map.class);
+		client = anonymous.mutate()
+				.defaultHeader("Authorization", "Bearer " + login.get("jwt"))
+				.build();
+	}
+}
@@ -0,0 +1,39 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductChangesTests extends ProductApiTestSupport {
+
+	@Test
+	void returnsOnlyTheChangesAfterTheGivenVersion() {
+		Number since = (Number) changes(Long.MAX_VALUE).get("version");
+
+		Product saved = productService.save(product("Change feed lamp"));
+		productService.deleteById(saved.getId());
+		Map<?, ?> feed = changes(since.longValue());
+
+		List<?> changes = (List<?>) feed.get("changes");
+		assertThat(changes).hasSize(2);
+		Map<?, ?> created = (Map<?, ?>) changes.get(0);
+		Map<?, ?> deleted = (Map<?, ?>) changes.get(1);
+		assertThat(created.get("type")).isEqualTo("SAVED");
+		assertThat(((Map<?, ?>) created.get("product")).get("name")).isEqualTo("Change feed lamp");
+		assertThat(deleted.get("type")).isEqualTo("DELETED");
+		assertThat(((Number) deleted.get("id")).longValue()).isEqualTo(saved.getId());
+		assertThat(((Number) feed.get("version")).longValue()).isEqualTo(since.longValue() + 2);
+		assertThat(feed.get("hasMore")).isEqualTo(false);
+	}
+
+	private Map<?, ?> changes(long since) {
+		return client.get().uri("/api/products/changes?since={since}", since)
+				.retrieve()
+				.body(Map.class);
+	}
+}
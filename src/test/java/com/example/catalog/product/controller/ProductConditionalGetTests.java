@@ -0,0 +1,83 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductConditionalGetTests extends ProductApiTestSupport {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void productIsNotModifiedUntilItIsSaved() {
+		Product product = productService.save(product("Conditional lamp"));
+		String uri = "/api/products/" + product.getId();
+
+		ResponseEntity<String> first = client.get().uri(uri).retrieve().toEntity(String.class);
+		String etag = first.getHeaders().getETag();
+		ResponseEntity<String> revalidated = get(uri, etag);
+
+		product.setPrice(new BigDecimal("12.50"));
+		productService.save(product);
+		ResponseEntity<String> afterUpdate = get(uri, etag);
+
+		assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(etag).startsWith("\"" + product.getId() + "-");
+		assertThat(first.getHeaders().getLastModified()).isPositive();
+		assertThat(first.getHeaders().getCacheControl()).isEqualTo("no-cache, private");
+		assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(revalidated.getBody()).isNull();
+		assertThat(revalidated.getHeaders().getETag()).isEqualTo(etag);
+		assertThat(afterUpdate.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(afterUpdate.getHeaders().getETag()).isNotEqualTo(etag);
+		assertThat(afterUpdate.getBody()).contains("12.5");
+	}
+
+	@Test
+	void searchIsNotModifiedUntilTheCatalogChanges() {
+		String uri = "/api/products/search?searchQuery=conditional&view=summary";
+
+		String etag = client.get().uri(uri).retrieve().toEntity(String.class).getHeaders().getETag();
+		ResponseEntity<String> revalidated = get(uri, etag);
+		productService.save(product("Conditional desk"));
+		ResponseEntity<String> afterInsert = get(uri, etag);
+
+		assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(afterInsert.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(afterInsert.getBody()).contains("Conditional desk");
+	}
+
+	@Test
+	void pageIsModifiedByAWriteThisInstanceDidNotSee() {
+		Product product = productService.save(product("Conditional shelf"));
+		String uri = "/api/products?cursor=" + (product.getId() - 1) + "&size=1&view=summary";
+
+		String etag = client.get().uri(uri).retrieve().toEntity(String.class).getHeaders().getETag();
+		ResponseEntity<String> revalidated = get(uri, etag);
+		// As another instance would: straight to the table, without this instance's listeners
+		jdbcTemplate.update("update products set name = ? where id = ?", "Conditional bookcase", product.getId());
+		ResponseEntity<String> afterUpdate = get(uri, etag);
+
+		assertThat(etag).matches("\"[0-9a-f]{32}\"");
+		assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(afterUpdate.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(afterUpdate.getHeaders().getETag()).isNotEqualTo(etag);
+		assertThat(afterUpdate.getBody()).contains("Conditional bookcase");
+	}
+
+	private ResponseEntity<String> get(String uri, String ifNoneMatch) {
+		return client.get().uri(uri)
+				.header("If-None-Match", ifNoneMatch)
+				.retrieve()
+				.toEntity(String.class);
+	}
+}
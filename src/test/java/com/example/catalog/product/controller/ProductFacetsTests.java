@@ -0,0 +1,50 @@
+package com.example.catalog.product.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductFacetsTests extends ProductApiTestSupport {
+
+	@Test
+	void countsMatchingProductsPerPriceBucketAndDateRange() {
+		productService.save(product("Facet teapot small", "5.00"));
+		productService.save(product("Facet teapot medium", "20.00"));
+		productService.save(product("Facet teapot large", "20.01"));
+		productService.save(product("Facet teapot deluxe", "120.00"));
+
+		Map<?, ?> facets = client.get()
+				.uri("/api/products/search/facets?searchQuery=facet teapot&maxPrice=100&priceBuckets=50,20")
+				.retrieve()
+				.body(Map.class);
+
+		assertThat(((Number) facets.get("total")).longValue()).isEqualTo(3);
+		List<?> price = (List<?>) facets.get("price");
+		assertThat(price).extracting(bucket -> ((Number) ((Map<?, ?>) bucket).get("count")).longValue())
+				.containsExactly(1L, 2L, 0L);
+		assertThat(((Map<?, ?>) price.get(1)).get("from")).isEqualTo(20);
+		assertThat(((Map<?, ?>) price.get(1)).get("to")).isEqualTo(50);
+		List<?> createdAt = (List<?>) facets.get("createdAt");
+		assertThat(createdAt).extracting(range -> (String) ((Map<?, ?>) range).get("within"))
+				.containsExactly("1d", "7d", "30d", "365d");
+		assertThat(createdAt).extracting(range -> ((Number) ((Map<?, ?>) range).get("count")).longValue())
+				.containsOnly(3L);
+		assertThat((List<?>) facets.get("updatedAt")).hasSize(4);
+	}
+
+	@Test
+	void countsNothingWhenNothingMatches() {
+		Map<?, ?> facets = client.get()
+				.uri("/api/products/search/facets?searchQuery=no such facet product")
+				.retrieve()
+				.body(Map.class);
+
+		assertThat(((Number) facets.get("total")).longValue()).isZero();
+		assertThat((List<?>) facets.get("price")).hasSize(7)
+				.allSatisfy(bucket -> assertThat(((Number) ((Map<?, ?>) bucket).get("count")).longValue()).isZero());
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.dto.ProductImportReport;
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductImportTests extends ProductApiTestSupport {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		// A row only the database rejects, to fail a batch that passed validation
+		jdbcTemplate.execute("alter table products add constraint import_rejected check (name <> 'Import rejected')");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("alter table products drop constraint import_rejected");
+	}
+
+	@Test
+	void reportsOnlyTheBadRowsOfABatchTheDatabaseRejects() {
+		String ndjson = """
+				{"name":"Import mug","price":4.50}
+				{"name":"Import priceless"}
+				null
+				{"name":"Import rejected","price":5.00}
+				{"name":"Import overflow","price":1e40}
+				{"name":"Import bowl","price":6.00}
+				""";
+		ProductImportReport report = client.post().uri("/api/products/bulk")
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(ndjson)
+				.retrieve()
+				.body(ProductImportReport.class);
+
+		assertThat(report.getReceived()).isEqualTo(6);
+		assertThat(report.getImported()).isEqualTo(2);
+		assertThat(report.getFailed()).isEqualTo(4);
+		assertThat(report.getErrors()).extracting(ProductImportReport.RowError::row).containsExactly(2L, 3L, 5L, 4L);
+		assertThat(report.getErrors().get(0).message()).isEqualTo("Price is required.");
+		assertThat(report.getErrors().get(2).message())
+				.isEqualTo("Price cannot have more than 15 digits before and 2 after the decimal point.");
+		assertThat(report.getErrors().get(3).message()).startsWith("Insert failed:");
+		assertThat(names()).contains("Import mug", "Import bowl")
+				.doesNotContain("Import priceless", "Import rejected", "Import overflow");
+	}
+
+	@Test
+	void reportsNullArrayElementsAsRowErrors() {
+		ProductImportReport report = client.post().uri("/api/products/bulk")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body("[{\"name\":\"Import spoon\",\"price\":1.25}, null, {\"name\":\"Import fork\",\"price\":1.50}]")
+				.retrieve()
+				.body(ProductImportReport.class);
+
+		assertThat(report.getImported()).isEqualTo(2);
+		assertThat(report.getErrors()).extracting(ProductImportReport.RowError::row).containsExactly(2L);
+		assertThat(names()).contains("Import spoon", "Import fork");
+	}
+
+	private List<String> names() {
+		return productService.searchProducts("import", null, null).stream().map(Product::getName).toList();
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.index.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {"catalog.index.enabled=true", "catalog.search.cache.max-size=0"})
+class ProductIndexedSearchSortTests extends ProductApiTestSupport {
+
+	@Autowired
+	private ProductSearchIndex searchIndex;
+
+	@BeforeEach
+	void setUp() throws InterruptedException {
+		for (int attempt = 0; attempt < 300 && !searchIndex.isReady(); attempt++) {
+			Thread.sleep(100);
+		}
+		assertThat(searchIndex.isReady()).isTrue();
+	}
+
+	@Test
+	void sortsNamesInCollationOrderOnTheIndexPath() {
+		productService.save(product("Collated éclair", "10.00"));
+		productService.save(product("Collated Banana", "30.00"));
+		productService.save(product("Collated apple", "20.00"));
+		productService.save(product("Collated cherry", "40.00"));
+
+		assertThat(names("sort=name")).containsExactly(
+				"Collated apple", "Collated Banana", "Collated cherry", "Collated éclair");
+		assertThat(names("sort=name&direction=desc&limit=2")).containsExactly("Collated éclair", "Collated cherry");
+		assertThat(names("sort=price&maxPrice=30")).containsExactly(
+				"Collated éclair", "Collated apple", "Collated Banana");
+		assertThat(names("sort=createdAt&direction=desc&limit=1")).containsExactly("Collated cherry");
+	}
+
+	private List<String> names(String parameters) {
+		List<?> products = client.get().uri("/api/products/search?searchQuery=collated&" + parameters)
+				.retrieve()
+				.body(List.class);
+		return products.stream().map(product -> (String) ((Map<?, ?>) product).get("name")).toList();
+	}
+}
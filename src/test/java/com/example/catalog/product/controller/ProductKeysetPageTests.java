@@ -0,0 +1,57 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {"catalog.page.default-size=2", "catalog.page.max-size=3"})
+class ProductKeysetPageTests extends ProductApiTestSupport {
+
+	@Test
+	void walksEveryProductOncePageByPage() {
+		List<Product> products = IntStream.range(0, 7).mapToObj(i -> product("Paged " + i)).toList();
+		productService.insertAll(products);
+		long before = products.getFirst().getId() - 1;
+
+		List<Object> ids = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		Object cursor = before;
+		while (cursor != null) {
+			Map<?, ?> page = page("cursor=" + cursor + "&size=100");
+			List<?> content = (List<?>) page.get("content");
+			content.forEach(product -> ids.add(((Number) ((Map<?, ?>) product).get("id")).longValue()));
+			pageSizes.add(content.size());
+			cursor = page.get("nextCursor");
+		}
+
+		assertThat(pageSizes).containsExactly(3, 3, 1);
+		assertThat(ids).containsExactlyElementsOf(products.stream().map(Product::getId).toList());
+	}
+
+	@Test
+	void usesTheDefaultSize() {
+		List<Product> products = IntStream.range(0, 3).mapToObj(i -> product("Defaulted " + i)).toList();
+		productService.insertAll(products);
+
+		Map<?, ?> page = page("cursor=" + (products.getFirst().getId() - 1));
+
+		List<?> content = (List<?>) page.get("content");
+		assertThat(content).hasSize(2);
+		assertThat(((Map<?, ?>) content.getFirst()).get("name")).isEqualTo("Defaulted 0");
+		assertThat(((Number) page.get("nextCursor")).longValue()).isEqualTo(products.get(1).getId());
+	}
+
+	private Map<?, ?> page(String parameters) {
+		return client.get().uri("/api/products?" + parameters)
+				.retrieve()
+				.body(Map.class);
+	}
+}
@@ -0,0 +1,82 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.RestClient;
+
+import java.util.Map;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "catalog.page.default-size=500")
+class ProductPagesTests extends ProductApiTestSupport {
+
+	private RestClient browser;
+	private String cookie;
+
+	@BeforeEach
+	void setUp() {
+		// Does not follow redirects, so a redirect to the login page shows as such
+		browser = RestClient.builder()
+				.baseUrl("http://localhost:" + port)
+				.requestFactory(new JdkClientHttpRequestFactory())
+				.build();
+		ResponseEntity<Map> login = browser.post().uri("/api/authenticate")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(Map.of("username", "admin", "password", "Frankliu@12345!"))
+				.retrieve()
+				.toEntity(Map.class);
+		String setCookie = login.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+		assertThat(setCookie).contains("HttpOnly", "SameSite=Strict", "Path=/products");
+		cookie = setCookie.substring(0, setCookie.indexOf(';'));
+	}
+
+	@Test
+	void rendersTheFirstPageForALoggedInUserAndReRendersChangedProducts() {
+		Product product = productService.save(product("Rendered <teapot>", "12.50"));
+
+		String page = page("/products/main", cookie);
+		assertThat(page).contains("Rendered &lt;teapot&gt;", "$12.50", "/products/edit/" + product.getId())
+				.doesNotContain("<!-- product-grid -->");
+		assertThat(page("/products/main", null)).doesNotContain("Rendered &lt;teapot&gt;");
+
+		product.setName("Rendered kettle");
+		product.setDescription("Rendered kettle");
+		productService.save(product);
+		assertThat(page("/products/main", cookie)).contains("Rendered kettle").doesNotContain("teapot");
+	}
+
+	@Test
+	void editFormLoadsTheProductAndTheCookieDoesNotAuthenticateTheApi() {
+		Product product = productService.save(product("Editable lamp", "40.00"));
+
+		assertThat(page("/products/edit/" + product.getId(), cookie))
+				.contains("value=\"Editable lamp\"", "data-loaded=\"true\"");
+		assertThat(page("/products/edit/" + product.getId(), null))
+				.doesNotContain("Editable lamp").contains("data-loaded=\"false\"");
+
+		HttpStatusCode api = browser.get().uri("/api/products/" + product.getId())
+				.header(HttpHeaders.COOKIE, cookie)
+				.exchange((request, response) -> response.getStatusCode());
+		assertThat(api.is2xxSuccessful()).isFalse();
+	}
+
+	private String page(String path, String cookie) {
+		return browser.get().uri(path)
+				.headers(headers -> {
+					if (cookie != null) {
+						headers.add(HttpHeaders.COOKIE, cookie);
+					}
+				})
+				.retrieve()
+				.body(String.class);
+	}
+}
@@ -0,0 +1,59 @@
+package com.example.catalog.product.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchSortTests extends ProductApiTestSupport {
+
+	@Test
+	void sortsAndLimitsSearchResults() {
+		productService.save(product("Sorted kettle b", "30.00"));
+		productService.save(product("Sorted kettle c", "10.00"));
+		productService.save(product("Sorted kettle a", "20.00"));
+
+		assertThat(names("sort=price&limit=2")).containsExactly("Sorted kettle c", "Sorted kettle a");
+		assertThat(names("sort=price&direction=desc")).containsExactly("Sorted kettle b", "Sorted kettle a", "Sorted kettle c");
+		assertThat(names("sort=name&view=summary")).containsExactly("Sorted kettle a", "Sorted kettle b", "Sorted kettle c");
+		assertThat(names("sort=createdAt&direction=desc&limit=1")).containsExactly("Sorted kettle a");
+		assertThat(names("limit=2")).hasSize(2);
+	}
+
+	@Test
+	void rejectsUnknownSortsAndDirections() {
+		assertThat(status("sort=popularity")).isEqualTo(HttpStatusCode.valueOf(400));
+		assertThat(status("sort=price&direction=sideways")).isEqualTo(HttpStatusCode.valueOf(400));
+		assertThat(status("minPrice=NaN")).isEqualTo(HttpStatusCode.valueOf(400));
+		assertThat(status("maxPrice=NaN&sort=price")).isEqualTo(HttpStatusCode.valueOf(400));
+	}
+
+	@Test
+	void acceptsPriceBoundsBeyondAnyPrice() {
+		productService.save(product("Bounded teapot", "25.00"));
+
+		assertThat(names("bounded teapot", "maxPrice=1e20")).containsExactly("Bounded teapot");
+		assertThat(names("bounded teapot", "minPrice=-Infinity&maxPrice=Infinity&sort=price")).containsExactly("Bounded teapot");
+		assertThat(names("bounded teapot", "minPrice=1e20")).isEmpty();
+	}
+
+	private List<String> names(String parameters) {
+		return names("sorted kettle", parameters);
+	}
+
+	private List<String> names(String searchQuery, String parameters) {
+		List<?> products = client.get().uri("/api/products/search?searchQuery=" + searchQuery + "&" + parameters)
+				.retrieve()
+				.body(List.class);
+		return products.stream().map(product -> (String) ((Map<?, ?>) product).get("name")).toList();
+	}
+
+	private HttpStatusCode status(String parameters) {
+		return client.get().uri("/api/products/search?" + parameters)
+				.exchange((request, response) -> response.getStatusCode());
+	}
+}
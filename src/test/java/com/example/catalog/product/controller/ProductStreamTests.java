@@ -0,0 +1,50 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.entity.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "catalog.changelog.enabled=false")
+class ProductStreamTests extends ProductApiTestSupport {
+
+	// More than two fetches of the repository's fetch size of 500
+	private static final int PRODUCTS = 1_201;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void streamsEveryRowFromTheDatabaseInIdOrder() throws Exception {
+		List<Product> products = IntStream.range(0, PRODUCTS).mapToObj(i -> product("Streamed " + i)).toList();
+		productService.insertAll(products);
+
+		String ndjson = client.get().uri("/api/products/stream")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.retrieve()
+				.body(String.class);
+
+		List<Long> ids = new ArrayList<>();
+		List<String> streamed = new ArrayList<>();
+		for (String line : ndjson.split("\n")) {
+			JsonNode row = objectMapper.readTree(line);
+			ids.add(row.get("id").asLong());
+			if (row.get("name").asText().startsWith("Streamed ")) {
+				streamed.add(row.get("name").asText());
+			}
+		}
+		assertThat(ids).isSorted().doesNotHaveDuplicates()
+				.containsAll(products.stream().map(Product::getId).toList());
+		assertThat(streamed).containsExactlyElementsOf(products.stream().map(Product::getName).toList());
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSummaryViewTests extends ProductApiTestSupport {
+
+	@Test
+	void listsOnlyTheSummaryFields() {
+		List<Product> products = List.of(product("Summarized kettle", "12.50"), product("Summarized pot", "8.00"));
+		productService.insertAll(products);
+		String cursor = "cursor=" + (products.getFirst().getId() - 1) + "&size=2";
+
+		List<?> summaries = (List<?>) get("/api/products?" + cursor + "&view=summary").get("content");
+		List<?> full = (List<?>) get("/api/products?" + cursor).get("content");
+
+		assertThat(summaries).hasSize(2);
+		Map<?, ?> first = (Map<?, ?>) summaries.getFirst();
+		assertThat(fields(first)).containsExactlyInAnyOrder("id", "name", "price");
+		assertThat(first.get("name")).isEqualTo("Summarized kettle");
+		assertThat(((Number) first.get("price")).doubleValue()).isEqualTo(12.5);
+		assertThat(fields((Map<?, ?>) full.getFirst())).contains("description", "createdAt", "updatedAt");
+	}
+
+	@Test
+	void searchesWithOnlyTheSummaryFields() {
+		productService.insertAll(List.of(product("Summary teacup", "3.00"), product("Summary saucer", "2.00")));
+
+		List<?> results = client.get()
+				.uri("/api/products/search?searchQuery=summary&sort=price&view=summary")
+				.retrieve()
+				.body(List.class);
+
+		List<Object> names = new ArrayList<>();
+		for (Object result : results) {
+			assertThat(fields((Map<?, ?>) result)).containsExactlyInAnyOrder("id", "name", "price");
+			names.add(((Map<?, ?>) result).get("name"));
+		}
+		assertThat(names).containsExactly("Summary saucer", "Summary teacup");
+	}
+
+	private Map<?, ?> get(String uri) {
+		return client.get().uri(uri).retrieve().body(Map.class);
+	}
+
+	private static List<Object> fields(Map<?, ?> row) {
+		return List.copyOf(row.keySet());
+	}
+}
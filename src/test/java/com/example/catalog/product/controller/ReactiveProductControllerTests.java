@@ -0,0 +1,85 @@
+package com.example.catalog.product.controller;
+
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveProductControllerTests extends ProductApiTestSupport {
+
+	@Test
+	void streamsSearchResultsAsNdjsonFromRowsWrittenThroughJpa() {
+		Product kettle = productService.save(product("Reactive copper kettle", "29.99"));
+		productService.save(product("Reactive copper mug", "9.99"));
+
+		String body = client.get()
+				.uri("/api/reactive/products/search?searchQuery=reactive copper&minPrice=20")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.retrieve()
+				.body(String.class);
+
+		assertThat(body.lines().toList())
+				.singleElement()
+				.satisfies(line -> assertThat(line)
+						.contains("\"id\":" + kettle.getId())
+						.contains("\"name\":\"Reactive copper kettle\""));
+	}
+
+	@Test
+	void rejectsNaNPriceBoundsAndClampsInfiniteOnes() {
+		Product teapot = productService.save(product("Reactive bounded teapot", "15.00"));
+
+		List<?> unbounded = client.get()
+				.uri("/api/reactive/products/search?searchQuery=reactive bounded&minPrice=-Infinity&maxPrice=Infinity")
+				.accept(MediaType.APPLICATION_JSON)
+				.retrieve()
+				.body(List.class);
+		List<?> aboveInfinity = client.get()
+				.uri("/api/reactive/products/search?searchQuery=reactive bounded&minPrice=Infinity")
+				.accept(MediaType.APPLICATION_JSON)
+				.retrieve()
+				.body(List.class);
+		HttpStatusCode notANumber = client.get()
+				.uri("/api/reactive/products/search?minPrice=NaN")
+				.accept(MediaType.APPLICATION_JSON)
+				.exchange((request, response) -> response.getStatusCode());
+
+		assertThat(unbounded).singleElement()
+				.satisfies(product -> assertThat(((Map<?, ?>) product).get("id")).isEqualTo(teapot.getId().intValue()));
+		assertThat(aboveInfinity).isEmpty();
+		assertThat(notANumber).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void returnsPagesAsJsonArray() {
+		Product first = productService.save(product("Reactive page one", "1.00"));
+		productService.save(product("Reactive page two", "2.00"));
+
+		List<?> page = client.get()
+				.uri("/api/reactive/products?cursor={cursor}&size=1", first.getId() - 1)
+				.accept(MediaType.APPLICATION_JSON)
+				.retrieve()
+				.body(List.class);
+
+		assertThat(page).singleElement()
+				.satisfies(product -> assertThat(((Map<?, ?>) product).get("name")).isEqualTo("Reactive page one"));
+	}
+
+	@Test
+	void findsProductById() {
+		Product saved = productService.save(product("Reactive lookup", "5.00"));
+
+		Map<?, ?> found = client.get().uri("/api/reactive/products/{id}", saved.getId())
+				.retrieve()
+				.body(Map.class);
+
+		assertThat(found.get("name")).isEqualTo("Reactive lookup");
+	}
+}
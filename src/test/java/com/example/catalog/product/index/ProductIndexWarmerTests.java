@@ -0,0 +1,70 @@
+package com.example.catalog.product.index;
+
+import com.example.catalog.common.startup.StartupWarmUp;
+import com.example.catalog.product.changelog.CatalogSnapshot;
+import com.example.catalog.product.changelog.ChangeLog;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "catalog.index.enabled=false")
+@ActiveProfiles("test")
+class ProductIndexWarmerTests {
+
+	@Autowired
+	private ProductIndexWarmer warmer;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ChangeLog changeLog;
+
+	@Autowired
+	private CatalogSnapshot catalogSnapshot;
+
+	@Autowired
+	private StartupWarmUp startupWarmUp;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void bootstrapsANewChangeLogWhenTheTableChangedBehindIt() throws Exception {
+		for (int attempt = 0; attempt < 500 && startupWarmUp.health().getStatus() != Status.UP; attempt++) {
+			Thread.sleep(10);
+		}
+		// Other tests sharing this context write around the change log, so start from a matching one
+		warmer.warmUp();
+		assertThat(catalogSnapshot.isReady()).isTrue();
+		productService.insertAll(List.of(product("Logged lamp")));
+
+		String logId = changeLog.changesSince(0, 1).logId();
+		warmer.warmUp();
+		assertThat(changeLog.changesSince(0, 1).logId()).isEqualTo(logId);
+
+		// As written by another instance, so this one's change log never sees it
+		jdbcTemplate.update("insert into products (name, price, created_at, updated_at)"
+				+ " values ('Unlogged lamp', 3.00, current_timestamp, current_timestamp)");
+		warmer.warmUp();
+
+		assertThat(changeLog.changesSince(0, 1).logId()).isNotEqualTo(logId);
+		assertThat(changeLog.isBootstrapped()).isTrue();
+		assertThat(catalogSnapshot.isReady()).isTrue();
+		assertThat(catalogSnapshot.highWaterMark()).isEqualTo(productService.highWaterMark());
+		List<String> names = new ArrayList<>();
+		catalogSnapshot.forEach(product -> names.add(product.getName()));
+		assertThat(names).contains("Logged lamp", "Unlogged lamp");
+	}
+}
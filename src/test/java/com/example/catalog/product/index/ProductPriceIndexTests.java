@@ -0,0 +1,94 @@
+package com.example.catalog.product.index;
+
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductPriceIndexTests {
+
+	private static Product product(long id, String price) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName("product " + id);
+		product.setPrice(new BigDecimal(price));
+		return product;
+	}
+
+	private static ProductPriceIndex warmIndex() {
+		ProductPriceIndex index = new ProductPriceIndex();
+		index.warm(product(1, "19.99"));
+		index.warm(product(2, "5.00"));
+		index.warm(product(3, "12.50"));
+		index.warm(product(4, "12.50"));
+		index.warm(product(5, "100"));
+		index.markReady();
+		return index;
+	}
+
+	@Test
+	void answersInclusiveRangesCheapestFirst() {
+		ProductPriceIndex index = warmIndex();
+
+		assertThat(index.idsInRange(5.0, 19.99)).containsExactly(2L, 3L, 4L, 1L);
+		assertThat(index.idsInRange(12.5, null)).containsExactly(3L, 4L, 1L, 5L);
+		assertThat(index.idsInRange(null, 12.49)).containsExactly(2L);
+		assertThat(index.idsInRange(20.0, 10.0)).isEmpty();
+		assertThat(index.cheapestInRange(10.0, null, 2)).containsExactly(3L, 4L);
+	}
+
+	@Test
+	void clampsBoundsBeyondTheMinorUnitRange() {
+		ProductPriceIndex index = warmIndex();
+
+		assertThat(index.idsInRange(null, 1e20)).containsExactly(2L, 3L, 4L, 1L, 5L);
+		assertThat(index.idsInRange(-1e20, 6.0)).containsExactly(2L);
+		assertThat(index.idsInRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY)).hasSize(5);
+		assertThat(index.idsInRange(1e20, null)).isEmpty();
+		assertThat(index.idsInRange(Double.POSITIVE_INFINITY, null)).isEmpty();
+		assertThat(index.idsInRange(null, Double.NEGATIVE_INFINITY)).isEmpty();
+		assertThat(index.orderByPrice(new long[]{1, 5}, 10.0, Double.MAX_VALUE, true, 10)).containsExactly(5L, 1L);
+		assertThat(index.isInRange(5L, -Double.MAX_VALUE, Double.POSITIVE_INFINITY)).isTrue();
+		assertThatThrownBy(() -> index.idsInRange(Double.NaN, null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void clampsPricesBeyondTheMinorUnitRange() {
+		ProductPriceIndex index = warmIndex();
+		index.onProductSaved(product(6, "1e40"));
+
+		assertThat(index.idsInRange(1e20, null)).containsExactly(6L);
+		assertThat(ProductPriceIndex.toMinorUnits(new BigDecimal("1e40"))).isEqualTo(Long.MAX_VALUE);
+		assertThat(ProductPriceIndex.toMinorUnits(new BigDecimal("12.345"))).isEqualTo(1235L);
+	}
+
+	@Test
+	void patchesSortedArraysOnWrites() {
+		ProductPriceIndex index = warmIndex();
+		index.onProductSaved(product(5, "1.00"));
+		index.onProductSaved(product(6, "12.50"));
+		index.onProductDeleted(3L);
+
+		assertThat(index.idsInRange(null, null)).containsExactly(5L, 2L, 4L, 6L, 1L);
+		assertThat(index.isInRange(5L, null, 1.0)).isTrue();
+		assertThat(index.isInRange(3L, null, null)).isFalse();
+	}
+
+	@Test
+	void ordersRangesAndIdSetsByPriceInEitherDirection() {
+		ProductPriceIndex index = warmIndex();
+
+		assertThat(index.idsInRange(null, 19.99, true, 10)).containsExactly(1L, 3L, 4L, 2L);
+		assertThat(index.idsInRange(12.5, null, true, 3)).containsExactly(5L, 1L, 3L);
+		assertThat(index.idsInRange(12.5, 12.5, true, 1)).containsExactly(3L);
+
+		long[] candidates = {5, 4, 9, 2, 3, 1};
+		assertThat(index.orderByPrice(candidates, null, null, false, 10)).containsExactly(2L, 3L, 4L, 1L, 5L);
+		assertThat(index.orderByPrice(candidates, null, null, false, 2)).containsExactly(2L, 3L);
+		assertThat(index.orderByPrice(candidates, 10.0, 50.0, true, 2)).containsExactly(1L, 3L);
+		assertThat(index.orderByPrice(candidates, null, null, true, 0)).isEmpty();
+	}
+}
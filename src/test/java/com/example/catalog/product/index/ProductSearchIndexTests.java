@@ -0,0 +1,72 @@
+package com.example.catalog.product.index;
+
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTests {
+
+	private static Product product(long id, String name, String description) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName(name);
+		product.setDescription(description);
+		product.setPrice(BigDecimal.TEN);
+		return product;
+	}
+
+	@Test
+	void ranksNameMatchesAboveDescriptionMatches() {
+		ProductSearchIndex index = new ProductSearchIndex();
+		index.onProductSaved(product(1, "Kettle", "Boils water for red tea"));
+		index.onProductSaved(product(2, "Red Kettle", "Boils water"));
+		index.onProductSaved(product(3, "Toaster", "Toasts bread"));
+
+		assertThat(index.search("RED kettle")).containsExactly(2L, 1L);
+		assertThat(index.search("bread")).containsExactly(3L);
+		assertThat(index.search("kettle toaster")).isEmpty();
+	}
+
+	@Test
+	void updatesAndDeletesReplacePreviousPostings() {
+		ProductSearchIndex index = new ProductSearchIndex();
+		index.onProductSaved(product(1, "Blue mug", null));
+		index.onProductSaved(product(1, "Green mug", null));
+		assertThat(index.search("blue")).isEmpty();
+		assertThat(index.search("green")).containsExactly(1L);
+
+		index.onProductDeleted(1L);
+		assertThat(index.search("mug")).isEmpty();
+	}
+
+	@Test
+	void compactionKeepsSurvivingDocuments() {
+		ProductSearchIndex index = new ProductSearchIndex();
+		for (String round : new String[]{"first", "second", "third"}) {
+			for (long id = 0; id < 1000; id++) {
+				index.onProductSaved(product(id, "item " + id, round + " round"));
+			}
+		}
+		assertThat(index.search("third round")).hasSize(1000);
+		assertThat(index.search("first")).isEmpty();
+		assertThat(index.search("item 42")).containsExactly(42L);
+	}
+
+	@Test
+	void warmUpDoesNotOverwriteLiveWrites() {
+		ProductSearchIndex index = new ProductSearchIndex();
+		index.onProductSaved(product(1, "New name", null));
+		index.onProductDeleted(2L);
+		index.warm(product(1, "Old name", null));
+		index.warm(product(2, "Deleted", null));
+		index.markReady();
+
+		assertThat(index.isReady()).isTrue();
+		assertThat(index.search("old")).isEmpty();
+		assertThat(index.search("new")).containsExactly(1L);
+		assertThat(index.search("deleted")).isEmpty();
+	}
+}
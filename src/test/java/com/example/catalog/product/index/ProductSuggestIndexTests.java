@@ -0,0 +1,106 @@
+package com.example.catalog.product.index;
+
+import com.example.catalog.product.dto.ProductSummary;
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSuggestIndexTests {
+
+	private static Product product(long id, String name, String price) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName(name);
+		product.setPrice(new BigDecimal(price));
+		return product;
+	}
+
+	private static List<Long> ids(List<ProductSummary> suggestions) {
+		return suggestions.stream().map(ProductSummary::id).toList();
+	}
+
+	@Test
+	void suggestsNamesWithAWordStartingWithThePrefixCheapestFirst() {
+		ProductSuggestIndex index = new ProductSuggestIndex(10);
+		index.onProductSaved(product(1, "Desk Lamp", "49.99"));
+		index.onProductSaved(product(2, "Lamp shade", "9.99"));
+		index.onProductSaved(product(3, "Desk-organizer", "15.00"));
+		index.onProductSaved(product(4, "Lampion", "5.00"));
+
+		assertThat(ids(index.suggest("lam", 10))).containsExactly(4L, 2L, 1L);
+		assertThat(ids(index.suggest("LAMP ", 10))).containsExactly(2L, 1L);
+		assertThat(ids(index.suggest("desk", 10))).containsExactly(3L, 1L);
+		assertThat(ids(index.suggest("desk o", 10))).containsExactly(3L);
+		assertThat(ids(index.suggest("lamp", 2))).containsExactly(4L, 2L);
+		assertThat(index.suggest("desk lamp", 10).getFirst().name()).isEqualTo("Desk Lamp");
+		assertThat(index.suggest("chair", 10)).isEmpty();
+		assertThat(index.suggest(" ", 10)).isEmpty();
+	}
+
+	@Test
+	void updatesAndDeletesReplacePreviousKeys() {
+		ProductSuggestIndex index = new ProductSuggestIndex(10);
+		index.onProductSaved(product(1, "Blue mug", "8.00"));
+		index.onProductSaved(product(1, "Green mug", "12.00"));
+		assertThat(index.suggest("blu", 10)).isEmpty();
+		assertThat(index.suggest("mug", 10)).containsExactly(new ProductSummary(1L, "Green mug", new BigDecimal("12.00")));
+
+		index.onProductDeleted(1L);
+		assertThat(index.suggest("g", 10)).isEmpty();
+		assertThat(index.suggest("mug", 10)).isEmpty();
+	}
+
+	@Test
+	void matchesAFullScanThroughRandomWrites() {
+		String[] words = {"steel", "stone", "stool", "lamp", "lamb", "oak", "oat", "mug", "music", "m"};
+		Random random = new Random(42);
+		ProductSuggestIndex index = new ProductSuggestIndex(5);
+		Map<Long, Product> catalog = new HashMap<>();
+		for (int i = 0; i < 20_000; i++) {
+			long id = random.nextInt(3000);
+			if (random.nextInt(4) == 0) {
+				index.onProductDeleted(id);
+				catalog.remove(id);
+			} else {
+				String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+				Product product = product(id, name, random.nextInt(500) + ".00");
+				index.onProductSaved(product);
+				catalog.put(id, product);
+			}
+		}
+
+		for (String prefix : new String[]{"s", "st", "sto", "stool ", "l", "lam", "m", "mu", "m m", "oa", "x"}) {
+			List<Long> expected = catalog.values().stream()
+					.filter(product -> (" " + product.getName() + " ").contains(" " + prefix))
+					.sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId))
+					.map(Product::getId)
+					.limit(5)
+					.toList();
+			assertThat(ids(index.suggest(prefix, 5))).as(prefix).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void warmUpDoesNotOverwriteLiveWrites() {
+		ProductSuggestIndex index = new ProductSuggestIndex(10);
+		index.onProductSaved(product(1, "New kettle", "20.00"));
+		index.onProductDeleted(2L);
+
+		index.warm(product(1, "Old kettle", "20.00"));
+		index.warm(product(2, "Deleted kettle", "10.00"));
+		index.warm(product(3, "Warm kettle", "30.00"));
+		index.markReady();
+
+		assertThat(index.isReady()).isTrue();
+		assertThat(ids(index.suggest("kettle", 10))).containsExactly(1L, 3L);
+		assertThat(index.suggest("old", 10)).isEmpty();
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.catalog.product.json;
+
+import com.example.catalog.product.cache.ProductJsonCache;
+import com.example.catalog.product.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductJsonSerializerTests {
+
+	// Spring Boot writes dates as ISO strings
+	private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+
+	@Test
+	void writesTheSameJsonAsTheBeanSerializer() throws Exception {
+		List<Product> products = new ArrayList<>();
+		String[] prices = {"0", "0.00", "0.05", "12.5", "19.99", "100", "-3.25", "1234567890.123456",
+				"0.000001", "0.0000001", "1E+3", "123456789012345678901.23"};
+		LocalDateTime[] timestamps = {
+				LocalDateTime.of(2025, 1, 1, 12, 0),
+				LocalDateTime.of(2025, 1, 1, 12, 0, 5),
+				LocalDateTime.of(999, 12, 31, 23, 59, 59, 500_000_000),
+				LocalDateTime.of(2025, 6, 30, 8, 7, 6, 123_456_000),
+				LocalDateTime.of(2025, 6, 30, 8, 7, 6, 1),
+				LocalDateTime.of(12025, 1, 1, 0, 0)};
+		for (int i = 0; i < prices.length; i++) {
+			Product product = new Product();
+			product.setId(i + 1L);
+			product.setName("Lamp \"" + i + "\" é中\n");
+			product.setDescription(i % 3 == 0 ? null : "desc " + i);
+			product.setPrice(new BigDecimal(prices[i]));
+			product.setCreatedAt(timestamps[i % timestamps.length]);
+			product.setUpdatedAt(i % 4 == 0 ? null : timestamps[(i + 1) % timestamps.length]);
+			products.add(product);
+		}
+		products.add(new Product());
+
+		String expected = reflective.writeValueAsString(products);
+
+		ObjectMapper cached = mapperWith(new ProductJsonCache(100, Duration.ofMinutes(10)));
+		assertThat(cached.writeValueAsString(products)).isEqualTo(expected);
+		assertThat(new String(cached.writeValueAsBytes(products), "UTF-8")).isEqualTo(expected);
+		assertThat(mapperWith(new ProductJsonCache(0, Duration.ofMinutes(10))).writeValueAsString(products))
+				.isEqualTo(expected);
+	}
+
+	@Test
+	void fallsBackToConfiguredDateFormatAndPrettyPrinting() throws Exception {
+		Product product = product(1L, "9.99", LocalDateTime.of(2025, 1, 1, 12, 0));
+		ObjectMapper expected = Jackson2ObjectMapperBuilder.json()
+				.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.INDENT_OUTPUT)
+				.build();
+		ObjectMapper actual = Jackson2ObjectMapperBuilder.json()
+				.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.INDENT_OUTPUT)
+				.serializerByType(Product.class, new ProductJsonSerializer(new ProductJsonCache(100, Duration.ofMinutes(10))))
+				.build();
+
+		assertThat(actual.writeValueAsString(product)).isEqualTo(expected.writeValueAsString(product));
+	}
+
+	@Test
+	void reencodesAProductOnceItsVersionChanges() throws Exception {
+		ProductJsonCache cache = new ProductJsonCache(100, Duration.ofMinutes(10));
+		ObjectMapper mapper = mapperWith(cache);
+		Product product = product(7L, "10.00", LocalDateTime.of(2025, 1, 1, 12, 0));
+		mapper.writeValueAsString(product);
+
+		product.setPrice(new BigDecimal("11.00"));
+		product.setUpdatedAt(product.getUpdatedAt().plusSeconds(1));
+
+		assertThat(cache.get(7L, LocalDateTime.of(2025, 1, 1, 12, 0))).isNotNull();
+		assertThat(mapper.writeValueAsString(product)).isEqualTo(reflective.writeValueAsString(product));
+		cache.onProductSaved(product);
+		assertThat(cache.get(7L, product.getUpdatedAt())).isNull();
+	}
+
+	private static ObjectMapper mapperWith(ProductJsonCache cache) {
+		return Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.serializerByType(Product.class, new ProductJsonSerializer(cache))
+				.build();
+	}
+
+	private static Product product(Long id, String price, LocalDateTime timestamp) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName("Lamp");
+		product.setDescription("Desk lamp");
+		product.setPrice(new BigDecimal(price));
+		product.setCreatedAt(timestamp);
+		product.setUpdatedAt(timestamp);
+		return product;
+	}
+}
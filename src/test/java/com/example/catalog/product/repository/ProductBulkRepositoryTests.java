@@ -0,0 +1,78 @@
+package com.example.catalog.product.repository;
+
+import com.example.catalog.product.dto.PriceUpdateDto;
+import com.example.catalog.product.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "catalog.index.enabled=false")
+@ActiveProfiles("test")
+class ProductBulkRepositoryTests {
+
+	private static final long UNKNOWN_ID = 999_999L;
+
+	@Autowired
+	private ProductBulkRepository productBulkRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Test
+	void insertsInOneBatchAndMapsGeneratedKeysInInputOrder() {
+		List<Product> products = List.of(product("Batch cup", "1.00"), product("Batch plate", "2.00"),
+				product("Batch bowl", "3.00"));
+
+		productBulkRepository.insertAll(products);
+
+		assertThat(products).extracting(Product::getId).doesNotContainNull().doesNotHaveDuplicates();
+		for (Product product : products) {
+			Product stored = productRepository.findById(product.getId()).orElseThrow();
+			assertThat(stored.getName()).isEqualTo(product.getName());
+			assertThat(stored.getPrice()).isEqualByComparingTo(product.getPrice());
+			assertThat(product.getCreatedAt()).isNotNull().isEqualTo(product.getUpdatedAt());
+		}
+	}
+
+	@Test
+	void reportsRowCountsOfUpdatesInInputOrder() {
+		List<Product> products = List.of(product("Batch fork", "1.00"), product("Batch knife", "2.00"));
+		productBulkRepository.insertAll(products);
+		Product fork = products.get(0);
+		fork.setName("Batch fork renamed");
+		fork.setUpdatedAt(LocalDateTime.now());
+		Product unknown = product("Batch ghost", "9.00");
+		unknown.setId(UNKNOWN_ID);
+		unknown.setUpdatedAt(LocalDateTime.now());
+
+		assertThat(productBulkRepository.updateAll(List.of(unknown, fork))).containsExactly(0, 1);
+		assertThat(productRepository.findById(fork.getId()).orElseThrow().getName()).isEqualTo("Batch fork renamed");
+
+		int[] counts = productBulkRepository.updatePrices(List.of(
+				new PriceUpdateDto(products.get(1).getId(), new BigDecimal("5.00")),
+				new PriceUpdateDto(UNKNOWN_ID, new BigDecimal("5.00"))));
+		assertThat(counts).containsExactly(1, 0);
+		assertThat(productRepository.findById(products.get(1).getId()).orElseThrow().getPrice())
+				.isEqualByComparingTo("5.00");
+	}
+
+	@Test
+	void reportsRowCountsOfDeletesInInputOrder() {
+		List<Product> products = List.of(product("Batch jug", "1.00"), product("Batch tray", "2.00"));
+		productBulkRepository.insertAll(products);
+
+		int[] counts = productBulkRepository.deleteAllById(List.of(products.get(0).getId(), UNKNOWN_ID,
+				products.get(0).getId(), products.get(1).getId()));
+
+		assertThat(counts).containsExactly(1, 0, 0, 1);
+		assertThat(productRepository.findAllById(List.of(products.get(0).getId(), products.get(1).getId()))).isEmpty();
+	}
+}
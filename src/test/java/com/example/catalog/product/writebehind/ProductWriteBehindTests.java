@@ -0,0 +1,177 @@
+package com.example.catalog.product.writebehind;
+
+import com.example.catalog.common.exception.WriteQueueFullException;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.repository.ProductBulkRepository;
+import com.example.catalog.product.service.ProductChangeListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductWriteBehindTests {
+
+	private final RecordingRepository repository = new RecordingRepository();
+	private final List<String> notifications = new ArrayList<>();
+
+	private ProductWriteBehind writeBehind(int capacity, WriteAck ack) {
+		return writeBehind(capacity, ack, List.of());
+	}
+
+	private ProductWriteBehind writeBehind(int capacity, WriteAck ack, List<ProductChangeListener> otherListeners) {
+		ProductChangeListener listener = new ProductChangeListener() {
+			@Override
+			public void onProductSaved(Product product) {
+				notifications.add("saved " + product.getId());
+			}
+
+			@Override
+			public void onProductDeleted(Long id) {
+				notifications.add("deleted " + id);
+			}
+		};
+		// The writer thread is not started; tests flush explicitly
+		List<ProductChangeListener> listeners = new ArrayList<>(otherListeners);
+		listeners.add(listener);
+		return new ProductWriteBehind(repository, TransactionOperations.withoutTransaction(), listeners,
+				new SimpleMeterRegistry(), true, capacity, 100, Duration.ofHours(1), Duration.ofMillis(50), ack);
+	}
+
+	private static Product product(Long id, String name) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName(name);
+		product.setPrice(new BigDecimal("10.00"));
+		return product;
+	}
+
+	@Test
+	void coalescesWritesPerProductAndReadsThemBackBeforeTheFlush() {
+		ProductWriteBehind writeBehind = writeBehind(10, WriteAck.ACCEPTED);
+		writeBehind.update(product(1L, "first"));
+		writeBehind.update(product(1L, "second"));
+		writeBehind.update(product(2L, "other"));
+		writeBehind.delete(2L);
+
+		assertThat(writeBehind.readThrough(1L, () -> product(1L, "stored")).getName()).isEqualTo("second");
+		assertThat(writeBehind.readThrough(2L, () -> product(2L, "stored"))).isNull();
+		assertThat(repository.batches).isEmpty();
+
+		writeBehind.flush();
+
+		assertThat(repository.batches).containsExactly("delete [2]", "update [1:second]");
+		assertThat(notifications).containsExactly("saved 1", "deleted 2");
+		assertThat(writeBehind.readThrough(1L, () -> product(1L, "stored")).getName()).isEqualTo("stored");
+	}
+
+	@Test
+	void flushedAcknowledgementWaitsForTheCommit() throws Exception {
+		ProductWriteBehind writeBehind = writeBehind(10, WriteAck.FLUSHED);
+		CompletableFuture<Product> update = CompletableFuture.supplyAsync(() -> writeBehind.update(product(1L, "new")));
+		CompletableFuture<Product> create = CompletableFuture.supplyAsync(() -> writeBehind.create(product(null, "created")));
+
+		Thread.sleep(100);
+		assertThat(update).isNotDone();
+		assertThat(create).isNotDone();
+		for (int attempt = 0; attempt < 100 && !(update.isDone() && create.isDone()); attempt++) {
+			writeBehind.flush();
+			Thread.sleep(10);
+		}
+
+		assertThat(update.get(1, TimeUnit.SECONDS).getName()).isEqualTo("new");
+		assertThat(create.get(1, TimeUnit.SECONDS).getId()).isEqualTo(100L);
+	}
+
+	@Test
+	void rejectsWritesWhileTheQueueIsFull() {
+		ProductWriteBehind writeBehind = writeBehind(2, WriteAck.ACCEPTED);
+		writeBehind.update(product(1L, "a"));
+		writeBehind.update(product(1L, "b"));
+
+		assertThatThrownBy(() -> writeBehind.update(product(2L, "c"))).isInstanceOf(WriteQueueFullException.class);
+
+		writeBehind.flush();
+		writeBehind.update(product(2L, "c"));
+		assertThat(writeBehind.readThrough(2L, () -> null).getName()).isEqualTo("c");
+	}
+
+	@Test
+	void flushesPendingWritesOnlyForTheGivenProducts() {
+		ProductWriteBehind writeBehind = writeBehind(10, WriteAck.ACCEPTED);
+		writeBehind.update(product(1L, "pending"));
+
+		writeBehind.flushPending(List.of(2L, 3L));
+		assertThat(repository.batches).isEmpty();
+
+		writeBehind.flushPending(List.of(2L, 1L));
+		assertThat(repository.batches).containsExactly("update [1:pending]");
+		assertThat(writeBehind.readThrough(1L, () -> product(1L, "stored")).getName()).isEqualTo("stored");
+	}
+
+	@Test
+	void neitherRepeatsNorFailsCommittedWritesWhenAListenerThrows() throws Exception {
+		ProductChangeListener failing = new ProductChangeListener() {
+			@Override
+			public void onProductSaved(Product product) {
+				throw new ArithmeticException("listener failed");
+			}
+
+			@Override
+			public void onProductDeleted(Long id) {
+				throw new ArithmeticException("listener failed");
+			}
+		};
+		ProductWriteBehind writeBehind = writeBehind(10, WriteAck.FLUSHED, List.of(failing));
+		CompletableFuture<Product> first = CompletableFuture.supplyAsync(() -> writeBehind.create(product(null, "a")));
+		CompletableFuture<Product> second = CompletableFuture.supplyAsync(() -> writeBehind.create(product(null, "b")));
+		for (int attempt = 0; attempt < 100 && !(first.isDone() && second.isDone()); attempt++) {
+			writeBehind.flush();
+			Thread.sleep(10);
+		}
+
+		assertThat(first.get(1, TimeUnit.SECONDS).getId()).isNotNull();
+		assertThat(second.get(1, TimeUnit.SECONDS).getId()).isNotNull();
+		// Each product was inserted once
+		assertThat(repository.nextId).isEqualTo(102L);
+		assertThat(notifications).containsExactlyInAnyOrder("saved 100", "saved 101");
+	}
+
+	/**
+	 * Records the batches instead of writing them.
+	 */
+	private static class RecordingRepository extends ProductBulkRepository {
+		private final List<String> batches = new ArrayList<>();
+		private long nextId = 100;
+
+		RecordingRepository() {
+			super(null);
+		}
+
+		@Override
+		public void insertAll(List<Product> products) {
+			products.forEach(product -> product.setId(nextId++));
+			batches.add("insert " + products.stream().map(Product::getName).toList());
+		}
+
+		@Override
+		public int[] updateAll(List<Product> products) {
+			batches.add("update " + products.stream().map(product -> product.getId() + ":" + product.getName()).toList());
+			return products.stream().mapToInt(product -> 1).toArray();
+		}
+
+		@Override
+		public int[] deleteAllById(List<Long> ids) {
+			batches.add("delete " + ids);
+			return ids.stream().mapToInt(id -> 1).toArray();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.catalog.product.writebehind;
+
+import com.example.catalog.product.dto.BulkOperationReport;
+import com.example.catalog.product.dto.PriceUpdateDto;
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.repository.ProductRepository;
+import com.example.catalog.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.example.catalog.product.ProductFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"catalog.index.enabled=false",
+		"catalog.write-behind.enabled=true",
+		"catalog.write-behind.ack=accepted",
+		"catalog.write-behind.flush-interval=1h",
+		"catalog.bulk.chunk-size=2"})
+@ActiveProfiles("test")
+class WriteBehindBulkTests {
+
+	private static final long UNKNOWN_ID = 999_999L;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ProductWriteBehind writeBehind;
+
+	@Test
+	void commitsQueuedWritesBeforeBulkPriceUpdates() {
+		List<Product> products = List.of(product("Bulk kettle"), product("Bulk toaster"));
+		productService.insertAll(products);
+		Product renamed = productService.findById(products.get(0).getId()).orElseThrow();
+		renamed.setName("Bulk kettle renamed");
+		renamed.setPrice(new BigDecimal("11.00"));
+		productService.save(renamed);
+
+		BulkOperationReport report = productService.updatePrices(List.of(
+				new PriceUpdateDto(products.get(0).getId(), new BigDecimal("50.00")),
+				new PriceUpdateDto(products.get(1).getId(), new BigDecimal("60.00")),
+				new PriceUpdateDto(UNKNOWN_ID, new BigDecimal("1.00"))));
+		writeBehind.flush();
+
+		assertThat(report.getAffected()).isEqualTo(2);
+		assertThat(report.getChunks()).extracting(BulkOperationReport.ChunkResult::notFound)
+				.containsExactly(List.of(), List.of(UNKNOWN_ID));
+		Product stored = productRepository.findById(products.get(0).getId()).orElseThrow();
+		assertThat(stored.getName()).isEqualTo("Bulk kettle renamed");
+		assertThat(stored.getPrice()).isEqualByComparingTo("50.00");
+		assertThat(productService.findById(products.get(0).getId()).orElseThrow().getPrice())
+				.isEqualByComparingTo("50.00");
+		assertThat(productService.findById(products.get(1).getId()).orElseThrow().getPrice())
+				.isEqualByComparingTo("60.00");
+	}
+
+	@Test
+	void commitsQueuedWritesBeforeBulkDeletes() {
+		List<Product> products = List.of(product("Bulk mixer"), product("Bulk blender"), product("Bulk grater"));
+		productService.insertAll(products);
+		Product updated = productService.findById(products.get(1).getId()).orElseThrow();
+		updated.setPrice(new BigDecimal("12.00"));
+		productService.save(updated);
+
+		BulkOperationReport report = productService.deleteAllById(List.of(
+				products.get(0).getId(), products.get(1).getId(), UNKNOWN_ID));
+
+		assertThat(report.getRequested()).isEqualTo(3);
+		assertThat(report.getAffected()).isEqualTo(2);
+		assertThat(report.getChunks()).extracting(BulkOperationReport.ChunkResult::notFound)
+				.containsExactly(List.of(), List.of(UNKNOWN_ID));
+		assertThat(productService.findById(products.get(1).getId())).isEmpty();
+		writeBehind.flush();
+		for (Product deleted : products.subList(0, 2)) {
+			assertThat(productService.findById(deleted.getId())).isEmpty();
+			assertThat(productRepository.findById(deleted.getId())).isEmpty();
+		}
+		assertThat(productService.findById(products.get(2).getId())).isPresent();
+	}
+}
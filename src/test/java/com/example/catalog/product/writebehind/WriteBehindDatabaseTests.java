@@ -0,0 +1,65 @@
+package com.example.catalog.product.writebehind;
+
+import com.example.catalog.product.entity.Product;
+import com.example.catalog.product.repository.ProductRepository;
+import com.example.catalog.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"catalog.index.enabled=false",
+		"catalog.write-behind.enabled=true",
+		"catalog.write-behind.ack=accepted",
+		"catalog.write-behind.flush-interval=10ms"})
+@ActiveProfiles("test")
+class WriteBehindDatabaseTests {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Test
+	void readsItsOwnWritesAndCommitsTheLastOne() throws Exception {
+		Product product = new Product();
+		product.setName("Write-behind lamp");
+		product.setPrice(new BigDecimal("10.00"));
+		Long id = productService.save(product).getId();
+		assertThat(productRepository.findById(id)).isPresent();
+
+		for (int i = 1; i <= 20; i++) {
+			Product update = productService.findById(id).orElseThrow();
+			update.setPrice(new BigDecimal(i + ".00"));
+			productService.save(update);
+			assertThat(productService.findById(id).orElseThrow().getPrice()).isEqualByComparingTo(i + ".00");
+		}
+		assertThat(awaitStored(id).map(Product::getPrice)).hasValueSatisfying(price ->
+				assertThat(price).isEqualByComparingTo("20.00"));
+
+		productService.deleteById(id);
+		assertThat(productService.findById(id)).isEmpty();
+		for (int attempt = 0; attempt < 100 && productRepository.findById(id).isPresent(); attempt++) {
+			Thread.sleep(20);
+		}
+		assertThat(productRepository.findById(id)).isEmpty();
+	}
+
+	private Optional<Product> awaitStored(Long id) throws InterruptedException {
+		for (int attempt = 0; attempt < 100; attempt++) {
+			Optional<Product> stored = productRepository.findById(id);
+			if (stored.map(Product::getPrice).filter(price -> price.compareTo(new BigDecimal("20.00")) == 0).isPresent()) {
+				return stored;
+			}
+			Thread.sleep(20);
+		}
+		return productRepository.findById(id);
+	}
+}